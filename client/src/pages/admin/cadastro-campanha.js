@@ -2,7 +2,7 @@ import React, { useState, useEffect } from 'react';
 import Link from 'next/link';
 import withAuth from '../../components/withAuth';
 import styles from '../../styles/AdminGeral.module.css';
-import api from '../../services/api';
+import api, { getTodos } from '../../services/api';
 
 // Importação dos ícones
 import {
@@ -212,7 +212,7 @@ const BuscaCampanhas = ({ fornecedores, mainMessageSetter }) => {
         setEditingCampanha(null);
 
         try {
-            const response = await api.get('/api/v1/campanhas');
+            const response = await getTodos('/api/v1/campanhas');
             let dados = response.data || [];
 
             if (searchId) dados = dados.filter(c => c.id && c.id.includes(searchId));
@@ -450,7 +450,7 @@ function CadastroCampanha() {
     useEffect(() => {
         async function loadFornecedores() {
             try {
-                const res = await api.get('/api/v1/fornecedores/ativos');
+                const res = await getTodos('/api/v1/fornecedores/ativos');
                 setFornecedores(res.data || []);
             } catch (error) {
                 console.error("Erro ao carregar fornecedores:", error);
@@ -2,7 +2,7 @@ import React, { useState, useEffect } from 'react';
 import Link from 'next/link';
 import withAuth from '../../components/withAuth';
 import styles from '../../styles/AdminGeral.module.css';
-import api from '../../services/api';
+import api, { getTodos } from '../../services/api';
 
 import {
     FiGrid, FiUsers, FiPackage, FiUser, FiLogOut, FiBox,
@@ -101,7 +101,7 @@ const BuscaCategorias = ({ fornecedores, mainMessageSetter }) => {
         setCurrentIndex(0);
 
         try {
-            const response = await api.get('/api/v1/categorias');
+            const response = await getTodos('/api/v1/categorias');
             let dados = response.data || [];
 
             if (searchNome) {
@@ -230,7 +230,7 @@ function CadastroCategoria() {
     useEffect(() => {
         async function loadFornecedores() {
             try {
-                const res = await api.get('/api/v1/fornecedores/ativos'); // Busca apenas ativos para cadastro
+                const res = await getTodos('/api/v1/fornecedores/ativos'); // Busca apenas ativos para cadastro
                 setFornecedores(res.data || []);
             } catch (error) {
                 console.error("Erro ao carregar fornecedores:", error);
@@ -2,7 +2,7 @@ import React, { useState, useEffect } from 'react';
 import Link from 'next/link';
 import withAuth from '../../components/withAuth';
 import styles from '../../styles/AdminGeral.module.css'; // Reaproveitando estilos padrão
-import api from '../../services/api';
+import api, { getTodos } from '../../services/api';
 
 import {
     FiGrid, FiUsers, FiPackage, FiUser, FiLogOut, FiBox,
@@ -319,7 +319,7 @@ function CadastroCondicoes() {
     useEffect(() => {
         async function loadData() {
             try {
-                const res = await api.get('/api/v1/fornecedores/ativos');
+                const res = await getTodos('/api/v1/fornecedores/ativos');
                 setFornecedores(res.data || []);
             } catch (error) {
                 console.error("Erro ao carregar fornecedores:", error);
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import Link from 'next/link';
 import withAuth from '../../components/withAuth';
-import api from '../../services/api';
+import api, { getTodos } from '../../services/api';
 import styles from '../../styles/AdminGeral.module.css';
 import {
     FiGrid, FiUsers, FiPackage, FiLogOut, FiBox,
@@ -187,7 +187,7 @@ const BuscaFornecedores = () => {
         setExpandedId(null);
         setEditingFornecedor(null);
         try {
-            const response = await api.get('/api/v1/fornecedores');
+            const response = await getTodos('/api/v1/fornecedores');
             let dados = response.data || [];
 
             if (searchId) dados = dados.filter(f => f.id && f.id.includes(searchId));
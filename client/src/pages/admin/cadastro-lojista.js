@@ -2,7 +2,7 @@ import React, { useState, useEffect } from 'react';
 import Link from 'next/link';
 import withAuth from '../../components/withAuth';
 import styles from '../../styles/AdminGeral.module.css';
-import api from '../../services/api';
+import api, { getTodos } from '../../services/api';
 import {
     FiGrid, FiUsers, FiPackage, FiUser, FiLogOut, FiBox,
     FiSearch, FiArrowRight, FiTrash2, FiChevronLeft, FiChevronRight, FiEdit, FiShoppingBag, FiTag, FiMapPin
@@ -195,7 +195,7 @@ const BuscaLojistas = () => {
         setEditingLojista(null);
 
         try {
-            const response = await api.get('/api/v1/lojas');
+            const response = await getTodos('/api/v1/lojas');
             let dados = response.data || [];
 
             if (searchId) dados = dados.filter(l => l.id && l.id.includes(searchId));
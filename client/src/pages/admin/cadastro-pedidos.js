@@ -2,7 +2,7 @@ import React, { useState, useEffect, useCallback, useRef } from 'react';
 import Link from 'next/link';
 import withAuth from '../../components/withAuth';
 import styles from '../../styles/AdminPedido.module.css';
-import api from '../../services/api';
+import api, { getTodos } from '../../services/api';
 import {
     FiGrid,
     FiUsers,
@@ -204,7 +204,7 @@ const BuscaPedidos = ({ allFornecedores = [] }) => {
         setExpandedPedidoId(null);
 
         try {
-            const response = await api.get('/api/v1/pedidos');
+            const response = await getTodos('/api/v1/pedidos');
             let dados = Array.isArray(response.data) ? response.data : [];
 
             if (searchId.trim() !== '') {
@@ -534,13 +534,13 @@ function CadastroPedido (){
         setMessage(null);
 
         try {
-            const respFornecedores = await api.get('/api/v1/fornecedores');
+            const respFornecedores = await getTodos('/api/v1/fornecedores');
             setFornecedores(respFornecedores.data || []);
 
-            const respLojas = await api.get('/api/v1/lojas');
+            const respLojas = await getTodos('/api/v1/lojas');
             setLojistas(respLojas.data || []);
 
-            const respProdutos = await api.get('/api/v1/produtos');
+            const respProdutos = await getTodos('/api/v1/produtos');
             setProdutos(respProdutos.data || []);
 
             // Busca todas as regras de estado ativas
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import Link from 'next/link';
 import withAuth from '../../components/withAuth';
-import api from '../../services/api';
+import api, { getTodos } from '../../services/api';
 import styles from '../../styles/AdminGeral.module.css';
 import {
     FiGrid, FiUsers, FiPackage, FiUser, FiLogOut, FiBox,
@@ -168,7 +168,7 @@ const BuscaProdutos = ({ mainMessageSetter, fornecedores, categorias }) => {
         setEditingProduto(null);
 
         try {
-            const response = await api.get('/api/v1/produtos');
+            const response = await getTodos('/api/v1/produtos');
             let dados = response.data || [];
 
             if (searchId) dados = dados.filter(p => String(p.id).includes(searchId));
@@ -449,10 +449,10 @@ function CadastroProdutos() {
     useEffect(() => {
         async function loadDependencies() {
             try {
-                const resFornecedores = await api.get('/api/v1/fornecedores/ativos'); // ou /ativos se existir
+                const resFornecedores = await getTodos('/api/v1/fornecedores/ativos'); // ou /ativos se existir
                 setFornecedores(resFornecedores.data || []);
 
-                const resCategorias = await api.get('/api/v1/categorias');
+                const resCategorias = await getTodos('/api/v1/categorias');
                 setCategorias(resCategorias.data || []);
             } catch (error) {
                 console.error("Erro ao carregar listas:", error);
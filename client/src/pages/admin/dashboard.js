@@ -6,7 +6,7 @@ import {
     FiArrowRight, FiSearch, FiEdit, FiTrash2, FiChevronLeft, FiChevronRight, FiMapPin
 } from 'react-icons/fi';
 import { FaShieldAlt } from 'react-icons/fa';
-import api from '../../services/api';
+import api, { getTodos } from '../../services/api';
 import styles from '../../styles/AdminGeral.module.css';
 import {BiCategory} from "react-icons/bi";
 
@@ -170,7 +170,7 @@ const BuscaUsuarios = () => {
         setEditingUsuario(null);
 
         try {
-            const response = await api.get('/api/v1/usuarios');
+            const response = await getTodos('/api/v1/usuarios');
             let dados = response.data || [];
 
             if (searchId) dados = dados.filter(u => u.id && u.id.includes(searchId));
@@ -377,26 +377,17 @@ function Dashboard() {
         async function loadAllData() {
             setLoading(true);
 
-            // Carrega dados de todos os endpoints
-            const lojasData = await fetchDataSafe('/api/v1/lojas');
-            const fornecedoresData = await fetchDataSafe('/api/v1/fornecedores');
-            const pedidosData = await fetchDataSafe('/api/v1/pedidos');
-            const campanhasData = await fetchDataSafe('/api/v1/campanhas');
+            // Indicadores já agregados no servidor
+            const painel = await fetchDataSafe('/api/v1/dashboard/admin');
 
-            // Prepara listas de "Últimos Cadastrados" (inverte a lista e pega os 5 primeiros)
-            const recentsLojas = [...lojasData].reverse().slice(0, 5);
-            const recentsFornecedores = [...fornecedoresData].reverse().slice(0, 5);
-
-            const totalCampanhasAtivas = campanhasData.filter(c => c.ativo === true).length;
-
-            setUltimasLojas(recentsLojas);
-            setUltimosFornecedores(recentsFornecedores);
+            setUltimasLojas(painel.ultimasLojas || []);
+            setUltimosFornecedores(painel.ultimosFornecedores || []);
 
             setStats({
-                totalLojas: lojasData.length,
-                totalFornecedores: fornecedoresData.length,
-                pedidosTotais: pedidosData.length,
-                campanhasAtivas: totalCampanhasAtivas
+                totalLojas: painel.totalLojas || 0,
+                totalFornecedores: painel.totalFornecedores || 0,
+                pedidosTotais: painel.pedidosTotais || 0,
+                campanhasAtivas: painel.campanhasAtivas || 0
             });
 
             setLoading(false);
@@ -2,7 +2,7 @@ import React, { useEffect, useState } from 'react';
 import Link from 'next/link';
 import styles from '../../styles/FornecedorCampanhas.module.css';
 import withAuth from '../../components/withAuth';
-import api from '@/services/api';
+import api, { getTodos } from '@/services/api';
 
 import {
     FiGrid, FiPackage, FiUser, FiLogOut, FiUsers, FiTag,
@@ -39,12 +39,12 @@ const Campanhas = () => {
             if (!usuario) return;
 
             // Campanhas
-            const res = await api.get('/api/v1/campanhas');
+            const res = await getTodos('/api/v1/campanhas');
             const minhas = (res.data || []).filter(c => String(c.fornecedorId) === String(usuario.fornecedorId));
             setCampanhas(minhas);
 
             // Produtos (para selecionar o brinde se necessário)
-            const resProd = await api.get('/api/v1/produtos');
+            const resProd = await getTodos('/api/v1/produtos');
             const meusProds = (resProd.data || []).filter(p => String(p.fornecedorId) === String(usuario.fornecedorId));
             setProdutos(meusProds);
 
@@ -45,35 +45,23 @@ function Dashboard() {
                     return;
                 }
 
-                const [resPedidos, resCampanhas] = await Promise.all([
-                    api.get(`/api/v1/pedidos/fornecedor/${usuario.fornecedorId}`),
-                    api.get('/api/v1/campanhas')
-                ]);
-
-                const pedidosApi = resPedidos.data || [];
-                const campanhasApi = resCampanhas.data || [];
-
-                const totalRecebidos = pedidosApi.length;
-                const valorTotal = pedidosApi.reduce((acc, item) => acc + (item.valorTotal || 0), 0);
-                const totalEnviados = pedidosApi.filter(p => p.status === 'ENVIADO' || p.status === 'ENTREGUE').length;
-                const totalCampanhasAtivas = campanhasApi.filter(c => String(c.fornecedorId) === String(usuario.fornecedorId) && c.ativo === true).length;
+                // Indicadores já agregados no servidor
+                const res = await api.get(`/api/v1/dashboard/fornecedor/${usuario.fornecedorId}`);
+                const painel = res.data || {};
 
                 setDashboardData({
-                    totalRecebidos,
-                    valorTotal,
-                    totalEnviados,
-                    totalCampanhasAtivas,
+                    totalRecebidos: painel.totalRecebidos || 0,
+                    valorTotal: painel.valorTotal || 0,
+                    totalEnviados: painel.totalEnviados || 0,
+                    totalCampanhasAtivas: painel.totalCampanhasAtivas || 0,
                 });
 
-                const pedidosRecentes = pedidosApi
-                    .sort((a, b) => new Date(b.dataPedido) - new Date(a.dataPedido)) // Ordena do mais recente
-                    .slice(0, 5)
-                    .map((p) => ({
-                        id: p.id,
-                        entity: p.lojaNome || 'Loja não informada',
-                        value: p.valorTotal || 0,
-                        status: p.status || 'PENDENTE',
-                    }));
+                const pedidosRecentes = (painel.pedidosRecentes || []).map((p) => ({
+                    id: p.id,
+                    entity: p.lojaNome || 'Loja não informada',
+                    value: p.valorTotal || 0,
+                    status: p.status || 'PENDENTE',
+                }));
 
                 setOrders(pedidosRecentes);
 
@@ -2,7 +2,7 @@ import React, { useEffect, useState, useMemo } from 'react';
 import Link from 'next/link';
 import styles from '../../styles/FornecedorProdutos.module.css';
 import withAuth from '../../components/withAuth';
-import api from '@/services/api';
+import api, { getTodos } from '@/services/api';
 
 import {
     FiGrid, FiPackage, FiUser, FiLogOut, FiUsers, FiSettings,
@@ -36,12 +36,12 @@ const MeusProdutos = () => {
             if (!usuario || !usuario.fornecedorId) return;
 
             // Busca Produtos
-            const resProd = await api.get('/api/v1/produtos');
+            const resProd = await getTodos('/api/v1/produtos');
             const meus = (resProd.data || []).filter(p => String(p.fornecedorId) === String(usuario.fornecedorId));
             setProdutos(meus);
 
             // Busca Categorias
-            const resCat = await api.get('/api/v1/categorias');
+            const resCat = await getTodos('/api/v1/categorias');
             setCategorias(resCat.data || []);
 
         } catch (error) {
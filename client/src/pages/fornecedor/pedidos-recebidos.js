@@ -2,7 +2,7 @@ import React, { useEffect, useState, useMemo } from 'react';
 import Link from 'next/link';
 import styles from '../../styles/FornecedorPedidos.module.css';
 import withAuth from '../../components/withAuth';
-import api from '@/services/api';
+import api, { getTodos } from '@/services/api';
 
 import {
     FiGrid, FiPackage, FiUser, FiLogOut, FiUsers, FiSettings,
@@ -27,7 +27,7 @@ const PedidosRecebidos = () => {
             const usuario = JSON.parse(localStorage.getItem('usuario'));
             if (!usuario || !usuario.fornecedorId) return;
 
-            const res = await api.get(`/api/v1/pedidos/fornecedor/${usuario.fornecedorId}`);
+            const res = await getTodos(`/api/v1/pedidos/fornecedor/${usuario.fornecedorId}`);
             // Ordenar do mais recente
             const sorted = (res.data || []).sort((a, b) => new Date(b.dataPedido) - new Date(a.dataPedido));
             setPedidos(sorted);
@@ -39,15 +39,9 @@ function CatalogoFornecedor () {
                 console.warn("Não foi possível carregar detalhes do fornecedor");
             }
 
-            // 2. Buscar produtos e filtrar pelo ID
-            const resProd = await api.get('/api/v1/produtos');
-            const todosProdutos = resProd.data || [];
-
-            const produtosFiltrados = todosProdutos.filter(p =>
-                String(p.fornecedorId) === String(id) && p.ativo === true
-            );
-
-            setProdutos(produtosFiltrados);
+            // 2. Catálogo do fornecedor (só produtos ativos; o navegador revalida pela ETag)
+            const resCat = await api.get(`/api/v1/fornecedores/${id}/catalogo`);
+            setProdutos(resCat.data?.produtos || []);
 
         } catch (error) {
             console.error("Erro ao carregar catálogo:", error);
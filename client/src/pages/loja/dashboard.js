@@ -36,24 +36,17 @@ function DashboardLoja ()  {
         return;
       }
 
-      const res = await api.get(`/api/v1/pedidos/loja/${usuario.lojaId}`);
-      const lista = res.data || [];
+      // Indicadores já agregados no servidor
+      const res = await api.get(`/api/v1/dashboard/loja/${usuario.lojaId}`);
+      const painel = res.data || {};
 
-      const totalRealizados = lista.length;
+      setDashboardData({
+        totalRealizados: painel.totalRealizados || 0,
+        valorTotal: painel.valorTotal || 0,
+        totalPendentes: painel.totalPendentes || 0,
+      });
 
-      const valorTotal = lista.reduce((acc, item) => {
-          if (item.status === 'CANCELADO') return acc;
-          return acc + (item.valorTotal || 0);
-      }, 0);
-
-      const totalPendentes = lista.filter(
-        p => p.status === "PENDENTE" || p.status === "Pending"
-      ).length;
-
-      setDashboardData({ totalRealizados, valorTotal, totalPendentes });
-
-      const listaOrdenada = lista.sort((a, b) => new Date(b.dataPedido) - new Date(a.dataPedido));
-      setPedidosRecentes(listaOrdenada.slice(0, 5));
+      setPedidosRecentes(painel.pedidosRecentes || []);
 
     } catch (error) {
       console.error("Erro dashboard:", error);
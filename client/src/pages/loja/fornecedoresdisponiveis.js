@@ -3,7 +3,7 @@ import Link from 'next/link';
 import { useRouter } from 'next/router';
 import withAuth from '../../components/withAuth';
 import styles from '../../styles/lojafornecedor.module.css';
-import api from '@/services/api';
+import { getTodos } from '@/services/api';
 
 import {
     FiGrid,
@@ -30,7 +30,7 @@ function FornecedoresDisponiveis () {
         async function fetchFornecedores() {
             setLoading(true);
             try {
-                const res = await api.get('/api/v1/fornecedores/ativos');
+                const res = await getTodos('/api/v1/fornecedores/ativos');
                 setFornecedores(res.data || []);
             } catch (error) {
                 console.error('Erro ao buscar fornecedores:', error);
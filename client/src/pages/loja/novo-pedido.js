@@ -3,7 +3,7 @@ import Link from 'next/link';
 import { useRouter } from 'next/router';
 import withAuth from '../../components/withAuth';
 import styles from '../../styles/Pedido.module.css';
-import api from '../../services/api';
+import api, { getTodos } from '../../services/api';
 import {
     FiGrid, FiUsers, FiPackage, FiUser, FiLogOut,
     FiChevronLeft, FiPlus, FiTrash2, FiChevronDown,
@@ -85,6 +85,7 @@ function NovoPedidoLoja() {
     });
 
     const [itensPedido, setItensPedido] = useState([{ produtoId: '', quantidade: 1, valorUnitario: 0.00 }]);
+    const [cotacao, setCotacao] = useState(null); // Preço final calculado pelo servidor (descontos, cashback, brindes)
 
     // 1. Carregamento Inicial de Dados
     useEffect(() => {
@@ -97,11 +98,11 @@ function NovoPedidoLoja() {
 
                 // Buscas em paralelo
                 const [resForn, resProd, resCond, resLoja, resCamp] = await Promise.all([
-                    api.get('/api/v1/fornecedores/ativos'),
-                    api.get('/api/v1/produtos'),
+                    getTodos('/api/v1/fornecedores/ativos'),
+                    getTodos('/api/v1/produtos'),
                     api.get('/api/v1/condicoes-estado/ativos'), // Busca regras de estado
                     api.get(`/api/v1/lojas/${myLojaId}`),       // Busca dados da loja para saber o Estado
-                    api.get('/api/v1/campanhas/ativos')         // Busca campanhas ativas
+                    getTodos('/api/v1/campanhas/ativos')        // Busca campanhas ativas
                 ]);
 
                 setFornecedores(resForn.data || []);
@@ -188,6 +189,28 @@ function NovoPedidoLoja() {
         }));
     }, [ajusteUnitario, filteredProdutos]);
 
+    // 5. Cotação no servidor (sem gravar nada) sempre que o carrinho muda
+    useEffect(() => {
+        const itensValidos = itensPedido.filter(i => i.produtoId && Number(i.quantidade) > 0);
+        if (!formData.lojaId || !formData.fornecedorId || itensValidos.length === 0) {
+            setCotacao(null);
+            return;
+        }
+
+        let cancelado = false;
+        const timer = setTimeout(() => {
+            api.post('/api/v1/pedidos/cotacao', {
+                lojaId: formData.lojaId,
+                fornecedorId: formData.fornecedorId,
+                itens: itensValidos.map(i => ({ produtoId: i.produtoId, quantidade: Number(i.quantidade) }))
+            })
+                .then(res => { if (!cancelado) setCotacao(res.data); })
+                .catch(() => { if (!cancelado) setCotacao(null); });
+        }, 300);
+
+        return () => { cancelado = true; clearTimeout(timer); };
+    }, [formData.lojaId, formData.fornecedorId, itensPedido]);
+
     const handleItemChange = (index, e) => {
         const { name, value } = e.target;
         const novosItens = [...itensPedido];
@@ -461,8 +484,19 @@ function NovoPedidoLoja() {
                             </div>
                             <div className={styles.totalPedidoContainer}>
                                 <span className={styles.totalLabel}>Total do Pedido:</span>
-                                <span className={styles.totalValue}>{new Intl.NumberFormat('pt-BR', { style: 'currency', currency: 'BRL' }).format(calcularTotal())}</span>
+                                <span className={styles.totalValue}>{new Intl.NumberFormat('pt-BR', { style: 'currency', currency: 'BRL' }).format(cotacao ? Number(cotacao.valorTotal) : calcularTotal())}</span>
                             </div>
+                            {cotacao && Number(cotacao.cashbackGerado) > 0 && (
+                                <div className={styles.totalPedidoContainer}>
+                                    <span className={styles.totalLabel}>Cashback:</span>
+                                    <span className={styles.totalValue}>{new Intl.NumberFormat('pt-BR', { style: 'currency', currency: 'BRL' }).format(Number(cotacao.cashbackGerado))}</span>
+                                </div>
+                            )}
+                            {cotacao && cotacao.brindes.length > 0 && (
+                                <p style={{color: '#666', textAlign: 'right'}}>
+                                    Brindes: {cotacao.brindes.map(b => b.produtoNome).join(', ')} (sujeito a disponibilidade)
+                                </p>
+                            )}
                             <div className={styles.footer}>
                                 <button type="submit" className={styles.submitButton} disabled={loading}>{loading ? 'Enviando...' : 'Finalizar Pedido'}</button>
                             </div>
@@ -3,7 +3,7 @@ import Link from 'next/link';
 import { useRouter } from 'next/router';
 import withAuth from '../../components/withAuth';
 import styles from '../../styles/LojaPedidos.module.css';
-import api from '@/services/api';
+import api, { getTodos } from '@/services/api';
 import {
     FiGrid, FiPackage, FiUser, FiLogOut, FiUsers, FiSearch,
     FiXCircle, FiMoreVertical, FiX, FiChevronDown, FiChevronUp
@@ -41,7 +41,7 @@ function MeusPedidosLoja () {
                 return;
             }
 
-            const res = await api.get(`/api/v1/pedidos/loja/${idParaBuscar}`);
+            const res = await getTodos(`/api/v1/pedidos/loja/${idParaBuscar}`);
             setPedidos(res.data || []);
 
         } catch (error) {
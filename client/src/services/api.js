@@ -10,4 +10,24 @@ const api = axios.create({
     }
 });
 
-export default api;
\ No newline at end of file
+export default api;
+
+// Listagens paginadas: o servidor devolve uma página por vez e o cursor da próxima no
+// header X-Proximo-Cursor. Segue o cursor até o fim e devolve uma resposta no formato
+// do axios, com todos os itens em data.
+const LIMITE_PAGINA = 1000;
+
+export async function getTodos(url, config = {}) {
+    const itens = [];
+    let after = null;
+    let response;
+    do {
+        response = await api.get(url, {
+            ...config,
+            params: { ...config.params, limit: LIMITE_PAGINA, ...(after ? { after } : {}) }
+        });
+        itens.push(...response.data);
+        after = response.headers['x-proximo-cursor'];
+    } while (after);
+    return { ...response, data: itens };
+}
@@ -2,8 +2,10 @@ package trabalho;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CentralComprasApiApplication {
     public static void main(String[] args) {
         SpringApplication.run(CentralComprasApiApplication.class, args);
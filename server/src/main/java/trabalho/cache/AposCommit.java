@@ -0,0 +1,29 @@
+package trabalho.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Executa uma ação somente depois do commit da transação corrente
+ * (ou imediatamente, se não houver transação).
+ * Usado para invalidar caches em memória: invalidar antes do commit deixaria
+ * uma janela em que outra thread recarrega o dado antigo e o guarda de novo.
+ */
+public final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    public static void executar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package trabalho.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import trabalho.repository.CampanhaRepository;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache em memória das regras de campanha compiladas por fornecedor.
+ * O CampanhaService invalida o fornecedor a cada escrita (após o commit).
+ */
+@Component
+@RequiredArgsConstructor
+public class CampanhaCache {
+
+    private final CampanhaRepository campanhaRepository;
+
+    private final Map<UUID, RegrasCampanha> regrasPorFornecedor = new ConcurrentHashMap<>();
+
+    // Incrementada a cada invalidação: uma carga iniciada antes dela não é guardada
+    private final AtomicLong versao = new AtomicLong();
+
+    public RegrasCampanha regras(UUID fornecedorId) {
+        RegrasCampanha regras = regrasPorFornecedor.get(fornecedorId);
+        if (regras != null) {
+            return regras;
+        }
+
+        long versaoInicial = versao.get();
+        RegrasCampanha compiladas = RegrasCampanha.compilar(versaoInicial,
+                campanhaRepository.findByFornecedor_IdAndAtivoTrue(fornecedorId));
+        // Conferência e gravação atômicas em relação ao invalidar, que incrementa a versão
+        // dentro do compute da mesma chave: não há janela entre comparar e guardar
+        regrasPorFornecedor.compute(fornecedorId, (id, atual) ->
+                atual != null ? atual : (versaoInicial == versao.get() ? compiladas : null));
+        return compiladas;
+    }
+
+    public void invalidar(UUID fornecedorId) {
+        AposCommit.executar(() -> regrasPorFornecedor.compute(fornecedorId, (id, atual) -> {
+            versao.incrementAndGet();
+            return null;
+        }));
+    }
+}
@@ -0,0 +1,60 @@
+package trabalho.cache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética de dinheiro em {@code long} (centavos) usada na precificação.
+ * Valores monetários e percentuais têm escala 2 no banco, então tudo cabe em inteiros:
+ * dinheiro em centavos e percentuais em centésimos de ponto percentual (12,50% = 1250).
+ * As contas reproduzem exatamente as de BigDecimal com escala 2 e HALF_UP;
+ * a conversão para BigDecimal acontece só na gravação/resposta.
+ */
+public final class Centavos {
+
+    // percentual (x100) e a divisão por 100 da fórmula "total * percentual / 100"
+    private static final long DIVISOR_PERCENTUAL = 10_000;
+
+    private Centavos() {
+    }
+
+    // Mesmo arredondamento que a coluna NUMERIC(p, 2) aplicaria ao gravar
+    public static long de(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal paraReais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    public static long vezes(long centavos, long quantidade) {
+        try {
+            return Math.multiplyExact(centavos, quantidade);
+        } catch (ArithmeticException e) {
+            throw new RuntimeException("Valor do pedido excede o limite permitido.");
+        }
+    }
+
+    public static long mais(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new RuntimeException("Valor do pedido excede o limite permitido.");
+        }
+    }
+
+    /**
+     * Equivale a {@code valor.multiply(percentual).divide(100, 2, HALF_UP)}
+     * com valor em centavos e percentual em centésimos.
+     */
+    public static long percentual(long centavos, long percentualCentesimos) {
+        long numerador = vezes(centavos, percentualCentesimos);
+        long quociente = numerador / DIVISOR_PERCENTUAL;
+        long resto = numerador % DIVISOR_PERCENTUAL;
+        // HALF_UP: metade ou mais arredonda para longe do zero
+        if (Math.abs(resto) * 2 >= DIVISOR_PERCENTUAL) {
+            quociente += Long.signum(numerador);
+        }
+        return quociente;
+    }
+}
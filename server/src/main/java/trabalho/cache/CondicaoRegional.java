@@ -0,0 +1,26 @@
+package trabalho.cache;
+
+import trabalho.entities.CondicoesEstado;
+
+/**
+ * Valores de uma condição regional já prontos para a precificação
+ * (nulos viram zero; condição inativa vira NEUTRA), em centavos e
+ * centésimos de percentual (ver {@link Centavos}).
+ */
+public record CondicaoRegional(
+        long ajusteUnitarioCentavos,
+        long cashbackPercentualCentesimos,
+        Integer prazoPagamentoDias
+) {
+    public static final CondicaoRegional NEUTRA = new CondicaoRegional(0, 0, null);
+
+    static CondicaoRegional de(CondicoesEstado entity) {
+        if (!Boolean.TRUE.equals(entity.getAtivo())) {
+            return NEUTRA;
+        }
+        return new CondicaoRegional(
+                entity.getAjusteUnitarioAplicado() != null ? Centavos.de(entity.getAjusteUnitarioAplicado()) : 0,
+                entity.getCashbackPercentual() != null ? Centavos.de(entity.getCashbackPercentual()) : 0,
+                entity.getPrazoPagamentoDias());
+    }
+}
@@ -0,0 +1,151 @@
+package trabalho.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import trabalho.dto.CondicoesEstadoResponseDTO;
+import trabalho.entities.CondicoesEstado;
+import trabalho.enums.UnidadeFederativa;
+import trabalho.mapper.CondicoesEstadoMapper;
+import trabalho.repository.CondicoesEstadoRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tabela em memória de todas as condições regionais: para cada fornecedor,
+ * um array com uma posição por UF (índice = ordinal de UnidadeFederativa).
+ * A tabela inteira é pequena (27 UFs x fornecedores) e muda raramente, então
+ * cada escrita apenas descarta o snapshot e a próxima leitura o reconstrói com uma consulta.
+ */
+@Component
+@RequiredArgsConstructor
+public class CondicoesRegionaisCache {
+
+    private static final int TOTAL_UFS = UnidadeFederativa.values().length;
+
+    private final CondicoesEstadoRepository condicoesEstadoRepository;
+    private final CondicoesEstadoMapper condicoesEstadoMapper;
+
+    private final AtomicLong versao = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    // -----------------------------------------
+    // Consulta O(1) usada na precificação
+    // -----------------------------------------
+    public CondicaoRegional condicao(UUID fornecedorId, String estado) {
+        UnidadeFederativa uf = UnidadeFederativa.daSigla(estado);
+        if (uf == null) {
+            return CondicaoRegional.NEUTRA;
+        }
+        Entrada[] tabela = snapshot().porFornecedor().get(fornecedorId);
+        if (tabela == null || tabela[uf.ordinal()] == null) {
+            return CondicaoRegional.NEUTRA;
+        }
+        return tabela[uf.ordinal()].condicao();
+    }
+
+    // -----------------------------------------
+    // Leituras em massa (servidas da mesma tabela)
+    // -----------------------------------------
+    public List<CondicoesEstadoResponseDTO> listarTudo() {
+        return snapshot().todas();
+    }
+
+    public List<CondicoesEstadoResponseDTO> listarAtivos() {
+        return snapshot().todas().stream()
+                .filter(c -> Boolean.TRUE.equals(c.ativo()))
+                .toList();
+    }
+
+    public List<CondicoesEstadoResponseDTO> listarPorFornecedor(UUID fornecedorId) {
+        Entrada[] tabela = snapshot().porFornecedor().get(fornecedorId);
+        if (tabela == null) {
+            return List.of();
+        }
+        return Arrays.stream(tabela)
+                .filter(Objects::nonNull)
+                .map(Entrada::dto)
+                .toList();
+    }
+
+    public List<CondicoesEstadoResponseDTO> listarPorEstado(String estado) {
+        UnidadeFederativa uf = UnidadeFederativa.daSigla(estado);
+        if (uf == null) {
+            throw new RuntimeException("Estado inválido: " + estado);
+        }
+        List<CondicoesEstadoResponseDTO> resultado = new ArrayList<>();
+        for (Entrada[] tabela : snapshot().porFornecedor().values()) {
+            if (tabela[uf.ordinal()] != null) {
+                resultado.add(tabela[uf.ordinal()].dto());
+            }
+        }
+        return resultado;
+    }
+
+    // Muda a cada escrita: permite usar a tabela como parte da chave de outros caches
+    public long getVersao() {
+        return versao.get();
+    }
+
+    // Sob o mesmo monitor da gravação em snapshot(): a carga iniciada antes nunca é guardada depois
+    public void invalidar() {
+        AposCommit.executar(() -> {
+            synchronized (this) {
+                versao.incrementAndGet();
+                snapshot = null;
+            }
+        });
+    }
+
+    // -----------------------------------------
+    // Carga
+    // -----------------------------------------
+    private Snapshot snapshot() {
+        Snapshot atual = snapshot;
+        if (atual != null) {
+            return atual;
+        }
+
+        long versaoInicial = versao.get();
+        Snapshot novo = carregar();
+        synchronized (this) {
+            if (snapshot == null && versaoInicial == versao.get()) {
+                snapshot = novo;
+            }
+        }
+        return novo;
+    }
+
+    private Snapshot carregar() {
+        List<CondicoesEstado> linhas = new ArrayList<>(condicoesEstadoRepository.findAllComFornecedor());
+        linhas.sort(Comparator.comparing((CondicoesEstado c) -> c.getFornecedor().getNomeFantasia())
+                .thenComparing(CondicoesEstado::getEstado));
+
+        Map<UUID, Entrada[]> porFornecedor = new HashMap<>();
+        List<CondicoesEstadoResponseDTO> todas = new ArrayList<>(linhas.size());
+
+        for (CondicoesEstado linha : linhas) {
+            CondicoesEstadoResponseDTO dto = condicoesEstadoMapper.toResponseDTO(linha);
+            todas.add(dto);
+
+            UnidadeFederativa uf = UnidadeFederativa.daSigla(linha.getEstado());
+            if (uf != null) {
+                porFornecedor.computeIfAbsent(linha.getFornecedor().getId(), id -> new Entrada[TOTAL_UFS])
+                        [uf.ordinal()] = new Entrada(dto, CondicaoRegional.de(linha));
+            }
+        }
+
+        return new Snapshot(Map.copyOf(porFornecedor), List.copyOf(todas));
+    }
+
+    private record Entrada(CondicoesEstadoResponseDTO dto, CondicaoRegional condicao) {}
+
+    private record Snapshot(Map<UUID, Entrada[]> porFornecedor, List<CondicoesEstadoResponseDTO> todas) {}
+}
@@ -0,0 +1,124 @@
+package trabalho.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import trabalho.dto.CotacaoItemDTO;
+import trabalho.dto.CotacaoResponseDTO;
+import trabalho.entities.Loja;
+import trabalho.repository.LojaRepository;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cotações já calculadas (LRU limitado) e o estado de cada loja.
+ * A chave inclui as versões de tudo que influencia o preço (campanhas, condições
+ * regionais, preços dos produtos) e o dia: quando algo muda, a versão muda e as
+ * entradas antigas simplesmente deixam de ser encontradas e saem pelo LRU.
+ */
+@Component
+@RequiredArgsConstructor
+public class CotacaoCache {
+
+    private final LojaRepository lojaRepository;
+
+    @Value("${pedidos.cotacao.maximo-em-memoria:5000}")
+    private int maximoEmMemoria;
+
+    // Incrementada a cada escrita em produtos (preço, fornecedor, exclusão)
+    private final AtomicLong versaoPrecos = new AtomicLong();
+
+    private final Map<UUID, String> estadoPorLoja = new ConcurrentHashMap<>();
+    private final AtomicLong versaoLojas = new AtomicLong();
+
+    // LRU limitado; acesso sempre sob synchronized
+    private final LinkedHashMap<Chave, Cotacao> cotacoes = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Chave, Cotacao> eldest) {
+            return size() > maximoEmMemoria;
+        }
+    };
+
+    public Cotacao buscar(Chave chave) {
+        synchronized (cotacoes) {
+            return cotacoes.get(chave);
+        }
+    }
+
+    public void guardar(Chave chave, Cotacao cotacao) {
+        synchronized (cotacoes) {
+            cotacoes.put(chave, cotacao);
+        }
+    }
+
+    public long getVersaoPrecos() {
+        return versaoPrecos.get();
+    }
+
+    public void invalidarPrecos() {
+        AposCommit.executar(versaoPrecos::incrementAndGet);
+    }
+
+    // -----------------------------------------
+    // UF da loja (muda só na edição da loja)
+    // -----------------------------------------
+    public String estado(UUID lojaId) {
+        String estado = estadoPorLoja.get(lojaId);
+        if (estado != null) {
+            return estado;
+        }
+
+        long versaoInicial = versaoLojas.get();
+        Loja loja = lojaRepository.findById(lojaId)
+                .orElseThrow(() -> new RuntimeException("Loja não encontrada."));
+        String lido = loja.getEstado() != null ? loja.getEstado() : "";
+
+        // Comparação e gravação atômicas em relação a invalidarLoja (mesma chave do mapa)
+        estadoPorLoja.compute(lojaId, (id, atual) ->
+                atual != null ? atual : (versaoInicial == versaoLojas.get() ? lido : null));
+        return lido;
+    }
+
+    public void invalidarLoja(UUID lojaId) {
+        AposCommit.executar(() -> estadoPorLoja.compute(lojaId, (id, atual) -> {
+            versaoLojas.incrementAndGet();
+            return null;
+        }));
+    }
+
+    /**
+     * @param carrinho pares (produtoId, quantidade) somados por produto e ordenados por id,
+     *                 para que a ordem e a repetição das linhas não gerem chaves diferentes
+     */
+    public record Chave(
+            String estado,
+            UUID fornecedorId,
+            List<Map.Entry<UUID, Integer>> carrinho,
+            long versaoCampanhas,
+            long versaoCondicoesRegionais,
+            long versaoPrecos,
+            long dia
+    ) {}
+
+    /**
+     * Resultado guardado: só o que depende da chave (a loja entra apenas pela UF),
+     * então a mesma cotação serve a todas as lojas do mesmo estado.
+     */
+    public record Cotacao(
+            String estado,
+            List<CotacaoItemDTO> itens,
+            List<CotacaoItemDTO> brindes,
+            BigDecimal valorTotal,
+            BigDecimal cashbackGerado
+    ) {
+        public CotacaoResponseDTO paraLoja(UUID lojaId, UUID fornecedorId) {
+            return new CotacaoResponseDTO(lojaId, fornecedorId, estado, itens, brindes, valorTotal, cashbackGerado);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package trabalho.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import trabalho.repository.CategoriaRepository;
+import trabalho.repository.DocumentoCategoria;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice dos nomes de categoria (sem acento, por prefixo) para achar fornecedores por categoria
+ * sem o JOIN com LIKE. Cada categoria é um documento; o resultado agrupa por fornecedor
+ * (sem repetição), ordenado pela melhor categoria e depois por quantas categorias casaram.
+ * Carregado do banco na subida e mantido pelas escritas de categorias e fornecedores.
+ */
+@Component
+@RequiredArgsConstructor
+public class IndiceCategoriasFornecedor implements SmartInitializingSingleton {
+
+    private static final int PESO_NOME = 1;
+
+    private final CategoriaRepository categoriaRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IndiceInvertido<UUID> indice = new IndiceInvertido<>();
+    // categoriaId -> fornecedorId
+    private final Map<UUID, UUID> fornecedorDaCategoria = new HashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconstruir();
+    }
+
+    public void reconstruir() {
+        List<DocumentoCategoria> linhas = categoriaRepository.buscarDocumentos();
+        lock.writeLock().lock();
+        try {
+            indice.limpar();
+            fornecedorDaCategoria.clear();
+            for (DocumentoCategoria linha : linhas) {
+                indexar(linha);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // -----------------------------------------
+    // Consulta
+    // -----------------------------------------
+    public List<UUID> buscarFornecedores(String consulta) {
+        lock.readLock().lock();
+        try {
+            Map<UUID, Integer> melhor = new HashMap<>();
+            Map<UUID, Integer> quantidade = new HashMap<>();
+            indice.pontuar(consulta).forEach((categoriaId, pontos) -> {
+                UUID fornecedorId = fornecedorDaCategoria.get(categoriaId);
+                melhor.merge(fornecedorId, pontos, Math::max);
+                quantidade.merge(fornecedorId, 1, Integer::sum);
+            });
+            return melhor.keySet().stream()
+                    .sorted(Comparator.comparing((UUID id) -> melhor.get(id)).reversed()
+                            .thenComparing(Comparator.comparing((UUID id) -> quantidade.get(id)).reversed())
+                            .thenComparing(Comparator.naturalOrder()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // -----------------------------------------
+    // Manutenção (aplicada após o commit)
+    // -----------------------------------------
+    public void atualizar(DocumentoCategoria categoria) {
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                indexar(categoria);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remover(UUID categoriaId) {
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                desindexar(categoriaId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Categorias do fornecedor são apagadas em cascata pelo banco
+    public void removerFornecedor(UUID fornecedorId) {
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                fornecedorDaCategoria.entrySet().stream()
+                        .filter(e -> fornecedorId.equals(e.getValue()))
+                        .map(Map.Entry::getKey)
+                        .toList()
+                        .forEach(this::desindexar);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Chamados com o write lock
+    private void indexar(DocumentoCategoria categoria) {
+        indice.indexar(categoria.id(), IndiceInvertido.pesos(categoria.nome(), PESO_NOME));
+        fornecedorDaCategoria.put(categoria.id(), categoria.fornecedorId());
+    }
+
+    private void desindexar(UUID categoriaId) {
+        indice.remover(categoriaId);
+        fornecedorDaCategoria.remove(categoriaId);
+    }
+}
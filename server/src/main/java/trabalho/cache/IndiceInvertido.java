@@ -0,0 +1,98 @@
+package trabalho.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Índice invertido genérico: termo normalizado (TextoBusca) -> chaves que o contêm, com peso.
+ * Os termos ficam ordenados, então cada termo da consulta casa por prefixo com um subMap.
+ * Não é thread-safe: quem o usa controla o acesso.
+ */
+final class IndiceInvertido<K> {
+
+    private final NavigableMap<String, Map<K, Integer>> termos = new TreeMap<>();
+    private final Map<K, Set<String>> termosPorChave = new HashMap<>();
+
+    // Pesos por termo do documento (ex.: nome pesa mais que descrição); substitui o anterior
+    void indexar(K chave, Map<String, Integer> pesos) {
+        remover(chave);
+        pesos.forEach((termo, peso) -> termos.computeIfAbsent(termo, t -> new HashMap<>()).put(chave, peso));
+        termosPorChave.put(chave, Set.copyOf(pesos.keySet()));
+    }
+
+    void remover(K chave) {
+        Set<String> anteriores = termosPorChave.remove(chave);
+        if (anteriores == null) {
+            return;
+        }
+        for (String termo : anteriores) {
+            Map<K, Integer> chaves = termos.get(termo);
+            if (chaves != null) {
+                chaves.remove(chave);
+                if (chaves.isEmpty()) {
+                    termos.remove(termo);
+                }
+            }
+        }
+    }
+
+    void limpar() {
+        termos.clear();
+        termosPorChave.clear();
+    }
+
+    /**
+     * Chaves que casam com todos os termos da consulta e sua pontuação:
+     * soma, por termo, do maior peso entre os termos indexados que ele prefixa,
+     * dobrado quando o termo casa inteiro.
+     */
+    Map<K, Integer> pontuar(String consulta) {
+        Set<String> termosConsulta = new LinkedHashSet<>(TextoBusca.termos(consulta));
+        if (termosConsulta.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<K, Integer> pontos = null;
+        for (String termo : termosConsulta) {
+            Map<K, Integer> doTermo = pontosDoTermo(termo);
+            if (pontos == null) {
+                pontos = doTermo;
+            } else {
+                pontos.keySet().retainAll(doTermo.keySet());
+                pontos.replaceAll((chave, p) -> p + doTermo.get(chave));
+            }
+            if (pontos.isEmpty()) {
+                return Map.of();
+            }
+        }
+        return pontos;
+    }
+
+    private Map<K, Integer> pontosDoTermo(String termo) {
+        Map<K, Integer> pontos = new HashMap<>();
+        for (Map.Entry<String, Map<K, Integer>> entrada
+                : termos.subMap(termo, true, termo + Character.MAX_VALUE, true).entrySet()) {
+            boolean inteiro = entrada.getKey().length() == termo.length();
+            entrada.getValue().forEach((chave, peso) -> pontos.merge(chave, inteiro ? peso * 2 : peso, Math::max));
+        }
+        return pontos;
+    }
+
+    // Termos de um texto com o mesmo peso
+    static Map<String, Integer> pesos(String texto, int peso) {
+        Map<String, Integer> pesos = new HashMap<>();
+        somarPesos(pesos, texto, peso);
+        return pesos;
+    }
+
+    // Mantém o maior peso quando o termo aparece em mais de um campo
+    static void somarPesos(Map<String, Integer> pesos, String texto, int peso) {
+        for (String termo : TextoBusca.termos(texto)) {
+            pesos.merge(termo, peso, Math::max);
+        }
+    }
+}
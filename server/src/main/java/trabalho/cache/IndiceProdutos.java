@@ -0,0 +1,154 @@
+package trabalho.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import trabalho.repository.DocumentoProduto;
+import trabalho.repository.ProdutoRepository;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória sobre nome e descrição dos produtos (sem acento, por prefixo:
+ * "acu" encontra "açúcar"), com peso maior para o nome. Todos os termos da consulta precisam casar.
+ * Carregado do banco na subida e mantido pelas escritas de produtos, categorias e fornecedores.
+ */
+@Component
+@RequiredArgsConstructor
+public class IndiceProdutos implements SmartInitializingSingleton {
+
+    private static final int PESO_NOME = 3;
+    private static final int PESO_DESCRICAO = 1;
+
+    private final ProdutoRepository produtoRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IndiceInvertido<UUID> indice = new IndiceInvertido<>();
+    private final Map<UUID, Documento> documentos = new HashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconstruir();
+    }
+
+    public void reconstruir() {
+        List<DocumentoProduto> linhas = produtoRepository.buscarDocumentos();
+        lock.writeLock().lock();
+        try {
+            indice.limpar();
+            documentos.clear();
+            for (DocumentoProduto linha : linhas) {
+                indexar(linha);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // -----------------------------------------
+    // Consulta
+    // -----------------------------------------
+
+    /**
+     * Ids dos produtos que casam com a consulta, do mais relevante para o menos.
+     * Filtros nulos não restringem.
+     */
+    public List<UUID> buscar(String consulta, UUID fornecedorId, UUID categoriaId, Boolean ativo, int limite) {
+        lock.readLock().lock();
+        try {
+            Map<UUID, Integer> pontos = indice.pontuar(consulta);
+            return pontos.keySet().stream()
+                    .map(documentos::get)
+                    .filter(d -> fornecedorId == null || fornecedorId.equals(d.fornecedorId()))
+                    .filter(d -> categoriaId == null || categoriaId.equals(d.categoriaId()))
+                    .filter(d -> ativo == null || ativo == d.ativo())
+                    .sorted(Comparator.comparing((Documento d) -> pontos.get(d.id())).reversed()
+                            .thenComparing(Documento::nome)
+                            .thenComparing(Documento::id))
+                    .limit(limite)
+                    .map(Documento::id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // -----------------------------------------
+    // Manutenção (aplicada após o commit)
+    // -----------------------------------------
+    public void atualizar(DocumentoProduto produto) {
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                indexar(produto);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remover(UUID produtoId) {
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                desindexar(produtoId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Produtos do fornecedor são apagados em cascata pelo banco
+    public void removerFornecedor(UUID fornecedorId) {
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                documentos.values().stream()
+                        .filter(d -> fornecedorId.equals(d.fornecedorId()))
+                        .map(Documento::id)
+                        .toList()
+                        .forEach(this::desindexar);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // O banco faz SET NULL na categoria dos produtos
+    public void removerCategoria(UUID categoriaId) {
+        AposCommit.executar(() -> {
+            lock.writeLock().lock();
+            try {
+                documentos.replaceAll((id, d) -> categoriaId.equals(d.categoriaId()) ? d.semCategoria() : d);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Chamados com o write lock
+    private void indexar(DocumentoProduto produto) {
+        Map<String, Integer> pesos = IndiceInvertido.pesos(produto.nome(), PESO_NOME);
+        IndiceInvertido.somarPesos(pesos, produto.descricao(), PESO_DESCRICAO);
+        indice.indexar(produto.id(), pesos);
+        documentos.put(produto.id(), new Documento(produto.id(), produto.fornecedorId(), produto.categoriaId(),
+                Boolean.TRUE.equals(produto.ativo()), TextoBusca.normalizar(produto.nome())));
+    }
+
+    private void desindexar(UUID produtoId) {
+        indice.remover(produtoId);
+        documentos.remove(produtoId);
+    }
+
+    private record Documento(UUID id, UUID fornecedorId, UUID categoriaId, boolean ativo, String nome) {
+
+        Documento semCategoria() {
+            return new Documento(id, fornecedorId, null, ativo, nome);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package trabalho.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência das listagens mais lidas (fornecedores ativos, produtos, categorias, campanhas).
+ * Requisições simultâneas com os mesmos parâmetros esperam uma única leitura em andamento e
+ * recebem o mesmo resultado; com TTL maior que zero, o resultado ainda atende quem chegar logo
+ * depois. Assim, centenas de lojas abrindo o app no mesmo minuto geram uma consulta, não centenas.
+ * <p>
+ * Deve envolver o método de serviço por fora da transação: quem espera não segura conexão.
+ * Cada grupo tem uma geração, incrementada após o commit de uma escrita que o afeta; uma leitura
+ * iniciada antes disso fica com a geração antiga e não é entregue a quem chega depois.
+ */
+@Component
+public class LeiturasCompartilhadas {
+
+    public static final String FORNECEDORES = "fornecedores";
+    public static final String PRODUTOS = "produtos";
+    public static final String CATEGORIAS = "categorias";
+    public static final String CAMPANHAS = "campanhas";
+
+    private final long ttlNanos;
+
+    private final Map<String, AtomicLong> geracoes = new ConcurrentHashMap<>();
+    private final Map<Chave, Entrada> entradas = new ConcurrentHashMap<>();
+
+    public LeiturasCompartilhadas(VersoesCatalogo versoesCatalogo,
+                                  @Value("${leituras.compartilhadas.ttl-ms:1000}") long ttlMs) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        // Produtos mostram estoque, categoria e fornecedor: qualquer aviso do catálogo os afeta.
+        // Categorias e fornecedores são invalidados só pelas escritas de CategoriaService e
+        // FornecedorService, e não a cada pedido que movimenta estoque
+        versoesCatalogo.aoAlterar(fornecedorId -> novaGeracao(PRODUTOS));
+    }
+
+    /**
+     * @param parametros todos os parâmetros da leitura (podem conter null), na ordem do método
+     */
+    public <T> T ler(String grupo, List<?> parametros, Supplier<T> leitura) {
+        Chave chave = new Chave(grupo, geracao(grupo).get(), parametros);
+        while (true) {
+            Entrada nova = new Entrada();
+            Entrada existente = entradas.putIfAbsent(chave, nova);
+            if (existente == null) {
+                return executar(chave, nova, leitura);
+            }
+            if (existente.vencida()) {
+                entradas.remove(chave, existente);
+                continue;
+            }
+            return aguardar(existente);
+        }
+    }
+
+    public void invalidar(String... grupos) {
+        AposCommit.executar(() -> {
+            for (String grupo : grupos) {
+                novaGeracao(grupo);
+            }
+        });
+    }
+
+    // Resultados vencidos e de gerações antigas só saem do mapa aqui
+    @Scheduled(fixedDelayString = "${leituras.compartilhadas.limpeza-ms:60000}")
+    public void limpar() {
+        entradas.entrySet().removeIf(e -> e.getValue().vencida()
+                || e.getKey().geracao() != geracao(e.getKey().grupo()).get());
+    }
+
+    // -----------------------------------------
+    // Leitura e espera
+    // -----------------------------------------
+    private <T> T executar(Chave chave, Entrada entrada, Supplier<T> leitura) {
+        T resultado;
+        try {
+            resultado = leitura.get();
+        } catch (RuntimeException | Error e) {
+            // Falhas não ficam guardadas: quem já esperava recebe o erro, o próximo tenta de novo
+            entradas.remove(chave, entrada);
+            entrada.futuro.completeExceptionally(e);
+            throw e;
+        }
+        if (ttlNanos > 0) {
+            entrada.expiraEm = System.nanoTime() + ttlNanos;
+        } else {
+            entradas.remove(chave, entrada);
+        }
+        entrada.futuro.complete(resultado);
+        return resultado;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T aguardar(Entrada entrada) {
+        try {
+            return (T) entrada.futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private AtomicLong geracao(String grupo) {
+        return geracoes.computeIfAbsent(grupo, g -> new AtomicLong());
+    }
+
+    // As entradas da geração anterior ficam inalcançáveis e saem na limpeza,
+    // sem varrer o mapa a cada escrita
+    private void novaGeracao(String grupo) {
+        geracao(grupo).incrementAndGet();
+    }
+
+    private record Chave(String grupo, long geracao, List<?> parametros) {}
+
+    private static final class Entrada {
+        final CompletableFuture<Object> futuro = new CompletableFuture<>();
+        // Sem prazo enquanto a leitura está em andamento
+        volatile long expiraEm = Long.MAX_VALUE;
+
+        boolean vencida() {
+            return futuro.isDone() && System.nanoTime() - expiraEm > 0;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package trabalho.cache;
+
+import trabalho.entities.Campanha;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Campanhas ativas de um fornecedor "compiladas" em regras imutáveis,
+ * já separadas por tipo e em ordem fixa (data de início, id).
+ * A vigência é guardada em epochDay e os valores em centavos/centésimos de percentual
+ * ({@link Centavos}), para que a checagem por pedido seja só aritmética de longs.
+ */
+public final class RegrasCampanha {
+
+    private final long versao;
+    private final Desconto[] descontos;
+    private final Cashback[] cashbacks;
+    private final Brinde[] brindes;
+
+    private RegrasCampanha(long versao, Desconto[] descontos, Cashback[] cashbacks, Brinde[] brindes) {
+        this.versao = versao;
+        this.descontos = descontos;
+        this.cashbacks = cashbacks;
+        this.brindes = brindes;
+    }
+
+    public static RegrasCampanha compilar(long versao, List<Campanha> campanhasAtivas) {
+        List<Campanha> ordenadas = new ArrayList<>(campanhasAtivas);
+        ordenadas.sort(Comparator.comparing(Campanha::getDataInicio, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Campanha::getId));
+
+        List<Desconto> descontos = new ArrayList<>();
+        List<Cashback> cashbacks = new ArrayList<>();
+        List<Brinde> brindes = new ArrayList<>();
+
+        for (Campanha c : ordenadas) {
+            long inicio = c.getDataInicio() != null ? c.getDataInicio().toEpochDay() : Long.MIN_VALUE;
+            long fim = c.getDataFim() != null ? c.getDataFim().toEpochDay() : Long.MAX_VALUE;
+
+            switch (c.getTipo()) {
+                case percentual_produto -> {
+                    if (c.getPercentualDesconto() != null) {
+                        long minimo = c.getValorMinimoCompra() != null ? Centavos.de(c.getValorMinimoCompra()) : Long.MIN_VALUE;
+                        descontos.add(new Desconto(inicio, fim, Centavos.de(c.getPercentualDesconto()), minimo));
+                    }
+                }
+                case valor_compra -> {
+                    if (c.getValorMinimoCompra() != null && c.getCashbackValor() != null) {
+                        cashbacks.add(new Cashback(inicio, fim, Centavos.de(c.getValorMinimoCompra()), Centavos.de(c.getCashbackValor())));
+                    }
+                }
+                case quantidade_produto -> {
+                    // getId() do proxy LAZY não dispara consulta
+                    if (c.getQuantidadeMinimaProduto() != null && c.getProdutoIdBrinde() != null) {
+                        brindes.add(new Brinde(inicio, fim, c.getQuantidadeMinimaProduto(), c.getProdutoIdBrinde().getId()));
+                    }
+                }
+            }
+        }
+
+        return new RegrasCampanha(versao,
+                descontos.toArray(Desconto[]::new),
+                cashbacks.toArray(Cashback[]::new),
+                brindes.toArray(Brinde[]::new));
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    // Descontos percentuais, em sequência, sobre o total corrente (nunca abaixo de zero)
+    public long aplicarDescontos(long totalCentavos, long hoje) {
+        long total = totalCentavos;
+        for (Desconto d : descontos) {
+            if (!d.vigente(hoje)) continue;
+            if (total >= d.valorMinimo()) {
+                total -= Centavos.percentual(total, d.percentual());
+                if (total < 0) {
+                    total = 0;
+                }
+            }
+        }
+        return total;
+    }
+
+    // Soma dos cashbacks fixos cujo valor mínimo foi atingido
+    public long cashback(long totalCentavos, long hoje) {
+        long soma = 0;
+        for (Cashback c : cashbacks) {
+            if (c.vigente(hoje) && totalCentavos >= c.valorMinimo()) {
+                soma = Centavos.mais(soma, c.valor());
+            }
+        }
+        return soma;
+    }
+
+    // Produtos de brinde cuja quantidade mínima foi atingida (um por campanha)
+    public List<UUID> brindes(int quantidadeTotalItens, long hoje) {
+        if (brindes.length == 0) {
+            return List.of();
+        }
+        List<UUID> ids = new ArrayList<>(brindes.length);
+        for (Brinde b : brindes) {
+            if (b.vigente(hoje) && quantidadeTotalItens >= b.quantidadeMinima()) {
+                ids.add(b.produtoId());
+            }
+        }
+        return ids;
+    }
+
+    // percentual em centésimos; valorMinimo em centavos (Long.MIN_VALUE quando não há mínimo)
+    private record Desconto(long inicio, long fim, long percentual, long valorMinimo) {
+        boolean vigente(long hoje) {
+            return inicio <= hoje && hoje <= fim;
+        }
+    }
+
+    private record Cashback(long inicio, long fim, long valorMinimo, long valor) {
+        boolean vigente(long hoje) {
+            return inicio <= hoje && hoje <= fim;
+        }
+    }
+
+    private record Brinde(long inicio, long fim, int quantidadeMinima, UUID produtoId) {
+        boolean vigente(long hoje) {
+            return inicio <= hoje && hoje <= fim;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package trabalho.cache;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de texto para os índices de busca em memória:
+ * minúsculas, sem acentos ("Açúcar" e "acucar" viram o mesmo termo) e quebrado em palavras.
+ */
+public final class TextoBusca {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
+    // Palavras que aparecem em quase todo nome e não ajudam a diferenciar
+    private static final Set<String> IGNORADAS = Set.of("a", "o", "e", "de", "da", "do", "das", "dos", "com", "para", "em");
+
+    private TextoBusca() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> termos(String texto) {
+        List<String> termos = new ArrayList<>();
+        for (String parte : SEPARADORES.split(normalizar(texto))) {
+            if (!parte.isEmpty() && !IGNORADAS.contains(parte)) {
+                termos.add(parte);
+            }
+        }
+        return termos;
+    }
+}
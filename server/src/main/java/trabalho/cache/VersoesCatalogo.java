@@ -0,0 +1,55 @@
+package trabalho.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Versão do catálogo de cada fornecedor (produtos ativos e categorias), incrementada após
+ * o commit de qualquer escrita que mude o que o catálogo mostra — inclusive o estoque
+ * movimentado pelos pedidos. A ETag é derivada só da versão, então um GET condicional
+ * responde 304 sem consultar o banco nem serializar nada.
+ */
+@Component
+public class VersoesCatalogo {
+
+    // Distingue as versões desta execução das de uma anterior (o mapa recomeça do zero)
+    private final String geracao = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<UUID, Long> versoes = new ConcurrentHashMap<>();
+    private final List<Consumer<UUID>> ouvintes = new CopyOnWriteArrayList<>();
+
+    // Lida antes de carregar o catálogo: se houver escrita no meio, a próxima requisição recebe 200
+    public long versao(UUID fornecedorId) {
+        return versoes.getOrDefault(fornecedorId, 0L);
+    }
+
+    // Cada codificação é uma representação diferente, com a sua própria ETag forte
+    public String etag(long versao, boolean gzip) {
+        return "\"" + geracao + "-" + versao + (gzip ? "-gz" : "") + "\"";
+    }
+
+    // Chamado depois do commit, já com a versão nova
+    public void aoAlterar(Consumer<UUID> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public void alterado(UUID fornecedorId) {
+        if (fornecedorId != null) {
+            AposCommit.executar(() -> {
+                versoes.merge(fornecedorId, 1L, Long::sum);
+                ouvintes.forEach(o -> o.accept(fornecedorId));
+            });
+        }
+    }
+
+    public void alterados(Collection<UUID> fornecedorIds) {
+        fornecedorIds.stream().distinct().forEach(this::alterado);
+    }
+}
@@ -44,7 +44,8 @@ public class SecurityConfig {
             public void addCorsMappings(@NonNull CorsRegistry registry) {
                 registry.addMapping("/**") // Aplica a todas as rotas
                         .allowedOrigins("http://localhost:3000", "https://central-de-compras-provectus.onrender.com") // Permite apenas o frontend Next.js
-                        .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS", "HEAD", "TRACE", "CONNECT"); // Métodos permitidos
+                        .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS", "HEAD", "TRACE", "CONNECT") // Métodos permitidos
+                        .exposedHeaders("X-Proximo-Cursor"); // Cursor da próxima página nas listagens
             }
         };
     }
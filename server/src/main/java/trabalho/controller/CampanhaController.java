@@ -5,10 +5,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import trabalho.cache.LeiturasCompartilhadas;
 import trabalho.dto.CampanhaRequestDTO;
 import trabalho.dto.CampanhaResponseDTO;
 import trabalho.services.CampanhaService;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,6 +20,7 @@ import java.util.UUID;
 public class CampanhaController {
 
     private final CampanhaService campanhaService;
+    private final LeiturasCompartilhadas leiturasCompartilhadas;
 
     @PostMapping
     public ResponseEntity<CampanhaResponseDTO> criar(@Valid @RequestBody CampanhaRequestDTO dto) {
@@ -25,13 +28,25 @@ public class CampanhaController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CampanhaResponseDTO>> listarTudo() {
-        return ResponseEntity.ok(campanhaService.listarCampanhas());
+    public ResponseEntity<List<CampanhaResponseDTO>> listarTudo(
+            @RequestParam(required = false) UUID fornecedorId,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(leiturasCompartilhadas.ler(LeiturasCompartilhadas.CAMPANHAS,
+                Arrays.asList("listar", fornecedorId, ativo, after, limit),
+                () -> campanhaService.listarCampanhas(fornecedorId, ativo, after, limit)));
     }
 
     @GetMapping("/ativos")
-    public ResponseEntity<List<CampanhaResponseDTO>> listarAtivos() {
-        return ResponseEntity.ok(campanhaService.listarCampanhasAtivas());
+    public ResponseEntity<List<CampanhaResponseDTO>> listarAtivos(
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(leiturasCompartilhadas.ler(LeiturasCompartilhadas.CAMPANHAS,
+                Arrays.asList("ativos", after, limit),
+                () -> campanhaService.listarCampanhasAtivas(after, limit)));
     }
 
     @GetMapping("/buscar")
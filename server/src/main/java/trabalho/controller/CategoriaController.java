@@ -5,10 +5,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import trabalho.cache.LeiturasCompartilhadas;
 import trabalho.dto.CategoriaRequestDTO;
 import trabalho.dto.CategoriaResponseDTO;
 import trabalho.services.CategoriaService;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,6 +20,7 @@ import java.util.UUID;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final LeiturasCompartilhadas leiturasCompartilhadas;
 
     @PostMapping
     public ResponseEntity<CategoriaResponseDTO> criar(@Valid @RequestBody CategoriaRequestDTO dto) {
@@ -25,8 +28,14 @@ public class CategoriaController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoriaResponseDTO>> listar() {
-        return ResponseEntity.ok(categoriaService.listarTodas());
+    public ResponseEntity<List<CategoriaResponseDTO>> listar(
+            @RequestParam(required = false) UUID fornecedorId,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(leiturasCompartilhadas.ler(LeiturasCompartilhadas.CATEGORIAS,
+                Arrays.asList("listar", fornecedorId, after, limit),
+                () -> categoriaService.listarTodas(fornecedorId, after, limit)));
     }
 
     @GetMapping("/{id}")
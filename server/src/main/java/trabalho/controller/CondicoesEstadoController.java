@@ -34,6 +34,16 @@ public class CondicoesEstadoController {
         return ResponseEntity.ok(condicoesEstadoService.listarAtivos());
     }
 
+    @GetMapping("/fornecedor/{fornecedorId}")
+    public ResponseEntity<List<CondicoesEstadoResponseDTO>> listarPorFornecedor(@PathVariable UUID fornecedorId) {
+        return ResponseEntity.ok(condicoesEstadoService.listarPorFornecedor(fornecedorId));
+    }
+
+    @GetMapping("/estado/{uf}")
+    public ResponseEntity<List<CondicoesEstadoResponseDTO>> listarPorEstado(@PathVariable String uf) {
+        return ResponseEntity.ok(condicoesEstadoService.listarPorEstado(uf));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CondicoesEstadoResponseDTO> buscarPorId(@PathVariable UUID id) {
         return ResponseEntity.ok(condicoesEstadoService.buscarPorId(id));
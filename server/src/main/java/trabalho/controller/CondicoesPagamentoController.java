@@ -30,14 +30,22 @@ public class CondicoesPagamentoController {
 
     // READ (GET) — Listar todos
     @GetMapping
-    public ResponseEntity<List<CondicoesPagamentoResponseDTO>> listarTodos() {
-        return ResponseEntity.ok(condicoesPagamentoService.listarTodos());
+    public ResponseEntity<List<CondicoesPagamentoResponseDTO>> listarTodos(
+            @RequestParam(required = false) UUID fornecedorId,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(condicoesPagamentoService.listarTodos(fornecedorId, ativo, after, limit));
     }
 
     // READ (GET) — Listar somente ativos
     @GetMapping("/ativos")
-    public ResponseEntity<List<CondicoesPagamentoResponseDTO>> listarAtivos() {
-        return ResponseEntity.ok(condicoesPagamentoService.listarAtivos());
+    public ResponseEntity<List<CondicoesPagamentoResponseDTO>> listarAtivos(
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(condicoesPagamentoService.listarAtivos(after, limit));
     }
 
     // READ (GET) — Buscar por ID
@@ -0,0 +1,43 @@
+package trabalho.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import trabalho.dto.DashboardAdminDTO;
+import trabalho.dto.DashboardFornecedorDTO;
+import trabalho.dto.DashboardLojaDTO;
+import trabalho.services.DashboardService;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    // -----------------------------------------
+    // GET - Painel do fornecedor
+    // -----------------------------------------
+    @GetMapping("/fornecedor/{fornecedorId}")
+    public ResponseEntity<DashboardFornecedorDTO> fornecedor(@PathVariable UUID fornecedorId) {
+        return ResponseEntity.ok(dashboardService.fornecedor(fornecedorId));
+    }
+
+    // -----------------------------------------
+    // GET - Painel da loja
+    // -----------------------------------------
+    @GetMapping("/loja/{lojaId}")
+    public ResponseEntity<DashboardLojaDTO> loja(@PathVariable UUID lojaId) {
+        return ResponseEntity.ok(dashboardService.loja(lojaId));
+    }
+
+    // -----------------------------------------
+    // GET - Painel do administrador
+    // -----------------------------------------
+    @GetMapping("/admin")
+    public ResponseEntity<DashboardAdminDTO> admin() {
+        return ResponseEntity.ok(dashboardService.admin());
+    }
+}
@@ -2,13 +2,19 @@ package trabalho.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import trabalho.cache.LeiturasCompartilhadas;
 import trabalho.dto.FornecedorRequestDTO;
 import trabalho.dto.FornecedorResponseDTO;
+import trabalho.services.CatalogoService;
 import trabalho.services.FornecedorService;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,6 +24,8 @@ import java.util.UUID;
 public class FornecedorController {
 
     private final FornecedorService fornecedorService;
+    private final CatalogoService catalogoService;
+    private final LeiturasCompartilhadas leiturasCompartilhadas;
 
     @PostMapping
     public ResponseEntity<FornecedorResponseDTO> criar(@Valid @RequestBody FornecedorRequestDTO dto) {
@@ -25,13 +33,24 @@ public class FornecedorController {
     }
 
     @GetMapping
-    public ResponseEntity<List<FornecedorResponseDTO>> listarTudo() {
-        return ResponseEntity.ok(fornecedorService.listarFornecedores());
+    public ResponseEntity<List<FornecedorResponseDTO>> listarTudo(
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(leiturasCompartilhadas.ler(LeiturasCompartilhadas.FORNECEDORES,
+                Arrays.asList("listar", ativo, after, limit),
+                () -> fornecedorService.listarFornecedores(ativo, after, limit)));
     }
 
     @GetMapping("/ativos")
-    public ResponseEntity<List<FornecedorResponseDTO>> listarAtivos() {
-        return ResponseEntity.ok(fornecedorService.listarAtivos());
+    public ResponseEntity<List<FornecedorResponseDTO>> listarAtivos(
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(leiturasCompartilhadas.ler(LeiturasCompartilhadas.FORNECEDORES,
+                Arrays.asList("ativos", after, limit),
+                () -> fornecedorService.listarAtivos(after, limit)));
     }
 
     // GET /api/v1/fornecedores/buscar?categoria=Eletronicos
@@ -43,7 +62,7 @@ public class FornecedorController {
             return ResponseEntity.ok(fornecedorService.buscarPorCategoria(categoria));
         }
         // Se não passar categoria, retorna todos (comportamento padrão)
-        return ResponseEntity.ok(fornecedorService.listarFornecedores());
+        return ResponseEntity.ok(fornecedorService.listarFornecedores(null, null, null).itens());
     }
 
     @GetMapping("/{id}")
@@ -51,6 +70,64 @@ public class FornecedorController {
         return ResponseEntity.ok(fornecedorService.buscarPorId(id));
     }
 
+    // -----------------------------------------
+    // GET - Catálogo (produtos ativos e categorias), servido de um snapshot já serializado.
+    // A ETag é a da versão do snapshot entregue (a anterior, durante uma reconstrução);
+    // If-None-Match igual a ela responde 304 pelo próprio Spring, sem tocar no banco
+    // nem copiar o corpo
+    // -----------------------------------------
+    @GetMapping("/{id}/catalogo")
+    public ResponseEntity<byte[]> catalogo(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        boolean gzip = aceitaGzip(acceptEncoding);
+        CatalogoService.Snapshot snapshot = catalogoService.snapshot(id);
+        if (snapshot == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .eTag(catalogoService.etag(snapshot, gzip))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return resposta.body(snapshot.json());
+    }
+
+    // gzip aceito se listado (ou coberto por "*") com q maior que zero; "gzip;q=0" recusa
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double qGzip = null;
+        Double qQualquer = null;
+        for (String opcao : acceptEncoding.split(",")) {
+            String[] partes = opcao.split(";");
+            String codificacao = partes[0].trim().toLowerCase();
+            double q = 1.0;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim().toLowerCase();
+                if (parametro.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (codificacao.equals("gzip") || codificacao.equals("x-gzip")) {
+                qGzip = q;
+            } else if (codificacao.equals("*")) {
+                qQualquer = q;
+            }
+        }
+        double q = qGzip != null ? qGzip : (qQualquer != null ? qQualquer : 0);
+        return q > 0;
+    }
+
     // -----------------------------------------
     // PUT - Atualizar fornecedor
     // -----------------------------------------
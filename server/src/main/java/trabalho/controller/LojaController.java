@@ -34,17 +34,23 @@ public class LojaController {
     // GET - Listar todas
     // -----------------------------------------
     @GetMapping
-    public ResponseEntity<List<LojaResponseDTO>> listarLojas() {
-        List<LojaResponseDTO> lojas = lojaService.listarLojas();
-        return ResponseEntity.ok(lojas);
+    public ResponseEntity<List<LojaResponseDTO>> listarLojas(
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(lojaService.listarLojas(ativo, after, limit));
     }
 
     // -----------------------------------------
     // GET - Listar apenas lojas ativas
     // -----------------------------------------
     @GetMapping("/ativas")
-    public ResponseEntity<List<LojaResponseDTO>> listarLojasAtivas() {
-        return ResponseEntity.ok(lojaService.listarAtivas());
+    public ResponseEntity<List<LojaResponseDTO>> listarLojasAtivas(
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(lojaService.listarAtivas(after, limit));
     }
 
     // -----------------------------------------
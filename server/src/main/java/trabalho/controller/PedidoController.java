@@ -3,13 +3,30 @@ package trabalho.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import trabalho.dto.AtualizacaoStatusLoteRequestDTO;
+import trabalho.dto.AtualizacaoStatusResultadoDTO;
+import trabalho.dto.CancelamentoLoteResponseDTO;
+import trabalho.dto.CotacaoRequestDTO;
+import trabalho.dto.CotacaoResponseDTO;
+import trabalho.dto.PedidoFilaResponseDTO;
 import trabalho.dto.PedidoRequestDTO;
 import trabalho.dto.PedidoResponseDTO;
 import trabalho.enums.StatusPedido;
+import trabalho.services.CotacaoService;
+import trabalho.services.ExportacaoPedidoService;
+import trabalho.services.IdempotenciaPedidoService;
+import trabalho.services.ImportacaoPedidoService;
+import trabalho.services.PedidoAssincronoService;
+import trabalho.services.PedidoGroupCommitService;
 import trabalho.services.PedidoService;
 
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,24 +36,105 @@ import java.util.UUID;
 public class PedidoController {
 
     private final PedidoService pedidoService;
+    private final PedidoGroupCommitService pedidoGroupCommitService;
+    private final IdempotenciaPedidoService idempotenciaPedidoService;
+    private final ImportacaoPedidoService importacaoPedidoService;
+    private final PedidoAssincronoService pedidoAssincronoService;
+    private final CotacaoService cotacaoService;
+    private final ExportacaoPedidoService exportacaoPedidoService;
 
     // -----------------------------------------
     // POST - Criar Pedido
     // -----------------------------------------
     @PostMapping
     public ResponseEntity<PedidoResponseDTO> criarPedido(
-            @Valid @RequestBody PedidoRequestDTO dto
+            @Valid @RequestBody PedidoRequestDTO dto,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        PedidoResponseDTO novoPedido = pedidoService.criarPedido(dto);
+        // Com o group commit desligado, equivale a pedidoService.criarPedido(dto).
+        // Com Idempotency-Key o pedido precisa ser gravado na mesma transação da chave,
+        // então não passa pelo group commit (que grava em outra thread).
+        PedidoResponseDTO novoPedido = idempotencyKey == null
+                ? pedidoGroupCommitService.criarPedido(dto)
+                : idempotenciaPedidoService.executar(idempotencyKey, dto, () -> pedidoService.criarPedido(dto));
         return ResponseEntity.status(HttpStatus.CREATED).body(novoPedido);
     }
 
+    // -----------------------------------------
+    // POST - Cotação (simulação de preço, não grava nada)
+    // -----------------------------------------
+    @PostMapping("/cotacao")
+    public ResponseEntity<CotacaoResponseDTO> cotar(@Valid @RequestBody CotacaoRequestDTO dto) {
+        return ResponseEntity.ok(cotacaoService.cotar(dto));
+    }
+
+    // -----------------------------------------
+    // POST - Criar Pedido de forma assíncrona (202 + ticket)
+    // -----------------------------------------
+    @PostMapping("/assincrono")
+    public ResponseEntity<PedidoFilaResponseDTO> enfileirarPedido(@Valid @RequestBody PedidoRequestDTO dto) {
+        PedidoFilaResponseDTO ticket = pedidoAssincronoService.enfileirar(dto);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/pedidos/assincrono/" + ticket.ticket()))
+                .body(ticket);
+    }
+
+    // -----------------------------------------
+    // GET - Situação de um pedido assíncrono
+    // -----------------------------------------
+    @GetMapping("/assincrono/{ticket}")
+    public ResponseEntity<PedidoFilaResponseDTO> consultarTicket(@PathVariable UUID ticket) {
+        return ResponseEntity.ok(pedidoAssincronoService.consultar(ticket));
+    }
+
+    @GetMapping(value = "/assincrono/{ticket}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharTicket(@PathVariable UUID ticket) {
+        return pedidoAssincronoService.assinar(ticket);
+    }
+
+    // -----------------------------------------
+    // POST - Importação em massa (NDJSON ou CSV), resposta NDJSON por pedido
+    // -----------------------------------------
+    @PostMapping(value = "/importacao", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importarNdjson(InputStream corpo) {
+        return importar(corpo, ImportacaoPedidoService.Formato.NDJSON);
+    }
+
+    @PostMapping(value = "/importacao", consumes = "text/csv", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importarCsv(InputStream corpo) {
+        return importar(corpo, ImportacaoPedidoService.Formato.CSV);
+    }
+
+    private ResponseEntity<StreamingResponseBody> importar(InputStream corpo, ImportacaoPedidoService.Formato formato) {
+        StreamingResponseBody resposta = saida -> importacaoPedidoService.importar(corpo, formato, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(resposta);
+    }
+
+    // -----------------------------------------
+    // GET - Exportação de todos os pedidos (NDJSON)
+    // -----------------------------------------
+    @GetMapping(value = "/exportacao", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody resposta = exportacaoPedidoService::exportar;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(resposta);
+    }
+
     // -----------------------------------------
     // GET - Listar todos os pedidos
     // -----------------------------------------
     @GetMapping
-    public ResponseEntity<List<PedidoResponseDTO>> listarTodos() {
-        return ResponseEntity.ok(pedidoService.listarTodos());
+    public ResponseEntity<List<PedidoResponseDTO>> listarTodos(
+            @RequestParam(required = false) StatusPedido status,
+            @RequestParam(required = false) UUID lojaId,
+            @RequestParam(required = false) UUID fornecedorId,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(pedidoService.listarTodos(status, lojaId, fornecedorId, after, limit));
     }
 
     // -----------------------------------------
@@ -51,16 +149,26 @@ public class PedidoController {
     // GET - Buscar pedidos por loja
     // -----------------------------------------
     @GetMapping("/loja/{lojaId}")
-    public ResponseEntity<List<PedidoResponseDTO>> listarPorLoja(@PathVariable UUID lojaId) {
-        return ResponseEntity.ok(pedidoService.listarPorLoja(lojaId));
+    public ResponseEntity<List<PedidoResponseDTO>> listarPorLoja(
+            @PathVariable UUID lojaId,
+            @RequestParam(required = false) StatusPedido status,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(pedidoService.listarPorLoja(lojaId, status, after, limit));
     }
 
     // -----------------------------------------
     // GET - Buscar pedidos por fornecedor
     // -----------------------------------------
     @GetMapping("/fornecedor/{fornecedorId}")
-    public ResponseEntity<List<PedidoResponseDTO>> listarPorFornecedor(@PathVariable UUID fornecedorId) {
-        return ResponseEntity.ok(pedidoService.listarPorFornecedor(fornecedorId));
+    public ResponseEntity<List<PedidoResponseDTO>> listarPorFornecedor(
+            @PathVariable UUID fornecedorId,
+            @RequestParam(required = false) StatusPedido status,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(pedidoService.listarPorFornecedor(fornecedorId, status, after, limit));
     }
 
     // -----------------------------------------
@@ -77,6 +185,27 @@ public class PedidoController {
         return ResponseEntity.ok(atualizado);
     }
 
+    // -----------------------------------------
+    // PATCH - Atualizar status de vários pedidos (resultado por pedido)
+    // -----------------------------------------
+    @PatchMapping("/status")
+    public ResponseEntity<List<AtualizacaoStatusResultadoDTO>> atualizarStatusEmLote(
+            @Valid @RequestBody AtualizacaoStatusLoteRequestDTO dto
+    ) {
+        return ResponseEntity.ok(pedidoService.atualizarStatusEmLote(dto.pedidoIds(), dto.status(), dto.usuarioId()));
+    }
+
+    // -----------------------------------------
+    // POST - Cancelar todos os pedidos pendentes de uma loja (somente ADMIN)
+    // -----------------------------------------
+    @PostMapping("/loja/{lojaId}/cancelar-pendentes")
+    public ResponseEntity<CancelamentoLoteResponseDTO> cancelarPendentesDaLoja(
+            @PathVariable UUID lojaId,
+            @RequestParam UUID usuarioId
+    ) {
+        return ResponseEntity.ok(pedidoService.cancelarPendentesDaLoja(lojaId, usuarioId));
+    }
+
     // -----------------------------------------
     // DELETE - Remover pedido
     // -----------------------------------------
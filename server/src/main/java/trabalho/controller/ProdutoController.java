@@ -5,10 +5,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import trabalho.cache.LeiturasCompartilhadas;
 import trabalho.dto.ProdutoRequestDTO;
 import trabalho.dto.ProdutoResponseDTO;
 import trabalho.services.ProdutoService;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,6 +20,7 @@ import java.util.UUID;
 public class ProdutoController {
 
     private final ProdutoService produtoService;
+    private final LeiturasCompartilhadas leiturasCompartilhadas;
 
     // -----------------------------------------
     // POST - Criar Produto
@@ -34,9 +37,30 @@ public class ProdutoController {
     // GET - Listar todos
     // -----------------------------------------
     @GetMapping
-    public ResponseEntity<List<ProdutoResponseDTO>> listarProdutos() {
-        List<ProdutoResponseDTO> produtos = produtoService.listarProdutos();
-        return ResponseEntity.ok(produtos);
+    public ResponseEntity<List<ProdutoResponseDTO>> listarProdutos(
+            @RequestParam(required = false) UUID fornecedorId,
+            @RequestParam(required = false) UUID categoriaId,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(leiturasCompartilhadas.ler(LeiturasCompartilhadas.PRODUTOS,
+                Arrays.asList("listar", fornecedorId, categoriaId, ativo, after, limit),
+                () -> produtoService.listarProdutos(fornecedorId, categoriaId, ativo, after, limit)));
+    }
+
+    // -----------------------------------------
+    // GET - Busca por texto (sem acento, por prefixo, ordenada por relevância)
+    // -----------------------------------------
+    @GetMapping("/buscar")
+    public ResponseEntity<List<ProdutoResponseDTO>> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) UUID fornecedorId,
+            @RequestParam(required = false) UUID categoriaId,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(produtoService.buscar(q, fornecedorId, categoriaId, ativo, limit));
     }
 
     // -----------------------------------------
@@ -0,0 +1,26 @@
+package trabalho.controller;
+
+import org.springframework.http.ResponseEntity;
+import trabalho.dto.Pagina;
+
+import java.util.List;
+
+/**
+ * Corpo continua sendo a lista (compatível com os clientes atuais);
+ * o cursor da próxima página vai no header X-Proximo-Cursor.
+ */
+final class RespostaPaginada {
+
+    static final String HEADER_PROXIMO_CURSOR = "X-Proximo-Cursor";
+
+    private RespostaPaginada() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(Pagina<T> pagina) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header(HEADER_PROXIMO_CURSOR, pagina.proximoCursor());
+        }
+        return resposta.body(pagina.itens());
+    }
+}
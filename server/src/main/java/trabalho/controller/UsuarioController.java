@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.*;
 import trabalho.dto.UsuarioRequestDTO;
 import trabalho.dto.UsuarioResponseDTO;
 import trabalho.dto.UsuarioRoleUpdateDTO;
+import trabalho.enums.TipoUsuario;
 import trabalho.services.UsuarioService;
 
 import java.util.List;
@@ -30,9 +31,14 @@ public class UsuarioController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UsuarioResponseDTO>> listarTodosUsuarios() {
-        List<UsuarioResponseDTO> usuarios = usuarioService.listarUsuarios();
-        return ResponseEntity.ok(usuarios);
+    public ResponseEntity<List<UsuarioResponseDTO>> listarTodosUsuarios(
+            @RequestParam(required = false) TipoUsuario tipoUsuario,
+            @RequestParam(required = false) UUID lojaId,
+            @RequestParam(required = false) UUID fornecedorId,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return RespostaPaginada.ok(usuarioService.listarUsuarios(tipoUsuario, lojaId, fornecedorId, after, limit));
     }
 
     @GetMapping("/buscar")
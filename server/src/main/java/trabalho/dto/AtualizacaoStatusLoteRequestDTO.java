@@ -0,0 +1,22 @@
+package trabalho.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import trabalho.enums.StatusPedido;
+
+import java.util.List;
+import java.util.UUID;
+
+public record AtualizacaoStatusLoteRequestDTO(
+
+        @NotEmpty(message = "Informe pelo menos um pedido")
+        @Size(max = 1000, message = "No máximo 1000 pedidos por requisição")
+        List<@NotNull UUID> pedidoIds,
+
+        @NotNull(message = "Status é obrigatório")
+        StatusPedido status,
+
+        @NotNull(message = "Usuário é obrigatório")
+        UUID usuarioId
+) {}
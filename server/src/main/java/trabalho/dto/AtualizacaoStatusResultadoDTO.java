@@ -0,0 +1,14 @@
+package trabalho.dto;
+
+import trabalho.enums.StatusPedido;
+
+import java.util.UUID;
+
+// Resultado de um pedido na mudança de status em lote
+public record AtualizacaoStatusResultadoDTO(
+        UUID pedidoId,
+        boolean sucesso,
+        StatusPedido statusAnterior,
+        StatusPedido status,
+        String erro
+) {}
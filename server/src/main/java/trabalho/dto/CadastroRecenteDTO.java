@@ -0,0 +1,10 @@
+package trabalho.dto;
+
+import java.util.UUID;
+
+public record CadastroRecenteDTO(
+        UUID id,
+        String nomeFantasia,
+        String cidade,
+        Boolean ativo
+) {}
@@ -0,0 +1,10 @@
+package trabalho.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CancelamentoLoteResponseDTO(
+        UUID lojaId,
+        int pedidosCancelados,
+        List<UUID> pedidoIds
+) {}
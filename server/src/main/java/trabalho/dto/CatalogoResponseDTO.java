@@ -0,0 +1,10 @@
+package trabalho.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CatalogoResponseDTO(
+        UUID fornecedorId,
+        List<CategoriaResponseDTO> categorias,
+        List<ProdutoResponseDTO> produtos
+) {}
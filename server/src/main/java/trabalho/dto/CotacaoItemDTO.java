@@ -0,0 +1,13 @@
+package trabalho.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record CotacaoItemDTO(
+        UUID produtoId,
+        String produtoNome,
+        Integer quantidade,
+        BigDecimal precoUnitario,
+        BigDecimal ajusteUnitario,
+        BigDecimal subtotal
+) {}
@@ -0,0 +1,21 @@
+package trabalho.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CotacaoRequestDTO(
+
+        @NotNull(message = "Loja é obrigatória")
+        UUID lojaId,
+
+        @NotNull(message = "Fornecedor é obrigatório")
+        UUID fornecedorId,
+
+        @NotEmpty(message = "O carrinho deve ter pelo menos um item")
+        @Valid
+        List<PedidoItemRequestDTO> itens
+) {}
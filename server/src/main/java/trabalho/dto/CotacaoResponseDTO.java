@@ -0,0 +1,15 @@
+package trabalho.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public record CotacaoResponseDTO(
+        UUID lojaId,
+        UUID fornecedorId,
+        String estado,
+        List<CotacaoItemDTO> itens,
+        List<CotacaoItemDTO> brindes,
+        BigDecimal valorTotal,
+        BigDecimal cashbackGerado
+) {}
@@ -0,0 +1,12 @@
+package trabalho.dto;
+
+import java.util.List;
+
+public record DashboardAdminDTO(
+        long totalLojas,
+        long totalFornecedores,
+        long pedidosTotais,
+        long campanhasAtivas,
+        List<CadastroRecenteDTO> ultimasLojas,
+        List<CadastroRecenteDTO> ultimosFornecedores
+) {}
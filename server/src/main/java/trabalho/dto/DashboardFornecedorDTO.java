@@ -0,0 +1,13 @@
+package trabalho.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record DashboardFornecedorDTO(
+        long totalRecebidos,
+        BigDecimal valorTotal,
+        long totalEnviados,
+        long totalCampanhasAtivas,
+        BigDecimal cashbackGerado,
+        List<PedidoRecenteDTO> pedidosRecentes
+) {}
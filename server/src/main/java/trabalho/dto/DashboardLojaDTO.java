@@ -0,0 +1,12 @@
+package trabalho.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record DashboardLojaDTO(
+        long totalRealizados,
+        BigDecimal valorTotal,
+        long totalPendentes,
+        BigDecimal cashbackRecebido,
+        List<PedidoRecenteDTO> pedidosRecentes
+) {}
@@ -0,0 +1,13 @@
+package trabalho.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Uma linha da resposta NDJSON da importação em massa (um objeto por pedido)
+public record ImportacaoPedidoResultadoDTO(
+        String referencia,
+        boolean sucesso,
+        UUID pedidoId,
+        BigDecimal valorTotal,
+        String erro
+) {}
@@ -0,0 +1,9 @@
+package trabalho.dto;
+
+import java.util.List;
+
+/**
+ * Uma página de uma listagem paginada por chave.
+ * proximoCursor é o valor a enviar em ?after= para buscar a próxima página (null na última).
+ */
+public record Pagina<T>(List<T> itens, String proximoCursor) {}
@@ -0,0 +1,15 @@
+package trabalho.dto;
+
+import trabalho.enums.StatusFilaPedido;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record PedidoFilaResponseDTO(
+        UUID ticket,
+        StatusFilaPedido status,
+        UUID pedidoId,
+        String erro,
+        OffsetDateTime criadoEm,
+        OffsetDateTime atualizadoEm
+) {}
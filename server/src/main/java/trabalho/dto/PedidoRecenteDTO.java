@@ -0,0 +1,16 @@
+package trabalho.dto;
+
+import trabalho.enums.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record PedidoRecenteDTO(
+        UUID id,
+        StatusPedido status,
+        BigDecimal valorTotal,
+        OffsetDateTime dataPedido,
+        String lojaNome,
+        String fornecedorNome
+) {}
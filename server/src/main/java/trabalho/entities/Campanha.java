@@ -15,7 +15,9 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "campanhas", schema = "public")
+@Table(name = "campanhas", schema = "public", indexes = {
+        @Index(name = "campanhas_fornecedor_id_id_idx", columnList = "fornecedor_id, id")
+})
 public class Campanha {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
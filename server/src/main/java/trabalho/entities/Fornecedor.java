@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 
 import java.time.OffsetDateTime;
@@ -14,6 +16,8 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "fornecedores")
 @Table(name = "fornecedores", schema = "public", uniqueConstraints = {
         @UniqueConstraint(name = "fornecedores_cnpj_key", columnNames = {"cnpj"})
 })
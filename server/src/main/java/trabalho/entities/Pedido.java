@@ -19,7 +19,13 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "pedidos", schema = "public")
+@Table(name = "pedidos", schema = "public", indexes = {
+        @Index(name = "pedidos_loja_id_id_idx", columnList = "loja_id, id"),
+        @Index(name = "pedidos_fornecedor_id_id_idx", columnList = "fornecedor_id, id"),
+        @Index(name = "pedidos_status_id_idx", columnList = "status, id"),
+        @Index(name = "pedidos_loja_id_data_pedido_idx", columnList = "loja_id, data_pedido"),
+        @Index(name = "pedidos_fornecedor_id_data_pedido_idx", columnList = "fornecedor_id, data_pedido")
+})
 public class Pedido {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
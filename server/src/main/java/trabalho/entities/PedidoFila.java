@@ -0,0 +1,53 @@
+package trabalho.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import trabalho.enums.StatusFilaPedido;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Pedido submetido de forma assíncrona (POST /api/v1/pedidos/assincrono).
+ * O id é o ticket devolvido ao cliente; a linha é o registro durável da fila.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "pedidos_fila", schema = "public", indexes = {
+        @Index(name = "pedidos_fila_status_atualizado_em_idx", columnList = "status, atualizado_em")
+})
+public class PedidoFila {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    // PedidoRequestDTO serializado
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusFilaPedido status = StatusFilaPedido.PENDENTE;
+
+    // Incrementado a cada vez que um worker assume o ticket; só a tentativa atual pode concluí-lo
+    @Column(name = "tentativas", nullable = false)
+    private int tentativas;
+
+    @Column(name = "pedido_id")
+    private UUID pedidoId;
+
+    @Column(name = "erro", columnDefinition = "TEXT")
+    private String erro;
+
+    @Column(name = "criado_em", nullable = false)
+    private OffsetDateTime criadoEm;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private OffsetDateTime atualizadoEm;
+}
@@ -0,0 +1,40 @@
+package trabalho.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "pedidos_idempotencia", schema = "public", indexes = {
+        @Index(name = "pedidos_idempotencia_expira_em_idx", columnList = "expira_em")
+})
+public class PedidoIdempotencia {
+
+    @Id
+    @Column(name = "chave", nullable = false, length = 255)
+    private String chave;
+
+    // SHA-256 do corpo da requisição original: a mesma chave não pode ser usada para outro pedido
+    @Column(name = "hash_requisicao", nullable = false, length = 64)
+    private String hashRequisicao;
+
+    @Column(name = "pedido_id", nullable = false)
+    private UUID pedidoId;
+
+    // PedidoResponseDTO serializado, devolvido como está nas repetições
+    @Column(name = "resposta", nullable = false, columnDefinition = "TEXT")
+    private String resposta;
+
+    @Column(name = "criado_em", nullable = false)
+    private OffsetDateTime criadoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private OffsetDateTime expiraEm;
+}
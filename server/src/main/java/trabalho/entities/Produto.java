@@ -17,7 +17,10 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "produtos", schema = "public")
+@Table(name = "produtos", schema = "public", indexes = {
+        @Index(name = "produtos_fornecedor_id_id_idx", columnList = "fornecedor_id, id"),
+        @Index(name = "produtos_categoria_id_id_idx", columnList = "categoria_id, id")
+})
 public class Produto {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -0,0 +1,48 @@
+package trabalho.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import trabalho.enums.EscopoTotal;
+import trabalho.enums.StatusPedido;
+
+import java.util.UUID;
+
+/**
+ * Totais acumulados de pedidos por loja ou fornecedor e status.
+ * Mantida pelo ContadoresPedidoService (somas incrementais); nunca recalculada a partir
+ * de pedidos, exceto na carga inicial com a tabela vazia.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@IdClass(TotalPedidosId.class)
+@Table(name = "pedidos_totais", schema = "public")
+public class TotalPedidos {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "escopo", nullable = false, length = 20)
+    private EscopoTotal escopo;
+
+    // id da loja ou do fornecedor, conforme o escopo
+    @Id
+    @Column(name = "dono_id", nullable = false)
+    private UUID donoId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 30)
+    private StatusPedido status;
+
+    @Column(name = "quantidade", nullable = false)
+    private long quantidade;
+
+    @Column(name = "valor_centavos", nullable = false)
+    private long valorCentavos;
+
+    @Column(name = "cashback_centavos", nullable = false)
+    private long cashbackCentavos;
+}
@@ -0,0 +1,25 @@
+package trabalho.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import trabalho.enums.EscopoTotal;
+import trabalho.enums.StatusPedido;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TotalPedidosId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private EscopoTotal escopo;
+    private UUID donoId;
+    private StatusPedido status;
+}
@@ -20,6 +20,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "usuarios", schema = "public", uniqueConstraints = {
         @UniqueConstraint(name = "usuarios_email_key", columnNames = {"email"})
+}, indexes = {
+        @Index(name = "usuarios_loja_id_id_idx", columnList = "loja_id, id"),
+        @Index(name = "usuarios_fornecedor_id_id_idx", columnList = "fornecedor_id, id")
 })
 public class Usuario {
     @Id
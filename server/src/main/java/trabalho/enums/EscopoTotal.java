@@ -0,0 +1,7 @@
+package trabalho.enums;
+
+// Dono de uma linha de pedidos_totais
+public enum EscopoTotal {
+    LOJA,
+    FORNECEDOR
+}
@@ -0,0 +1,8 @@
+package trabalho.enums;
+
+public enum StatusFilaPedido {
+    PENDENTE,
+    PROCESSANDO,
+    CONCLUIDO,
+    FALHOU
+}
@@ -0,0 +1,27 @@
+package trabalho.enums;
+
+public enum UnidadeFederativa {
+    AC, AL, AP, AM, BA, CE, DF, ES, GO,
+    MA, MT, MS, MG, PA, PB, PR, PE, PI,
+    RJ, RN, RS, RO, RR, SC, SP, SE, TO;
+
+    private static final UnidadeFederativa[] VALORES = values();
+
+    // Retorna null para siglas desconhecidas (em vez de lançar exceção como valueOf).
+    // Diferencia maiúsculas de minúsculas, como a comparação loja.estado = condicao.estado
+    // feita antes no banco: "sp" não casa com "SP"
+    public static UnidadeFederativa daSigla(String sigla) {
+        if (sigla == null || sigla.length() != 2) {
+            return null;
+        }
+        char a = sigla.charAt(0);
+        char b = sigla.charAt(1);
+        for (UnidadeFederativa uf : VALORES) {
+            String nome = uf.name();
+            if (nome.charAt(0) == a && nome.charAt(1) == b) {
+                return uf;
+            }
+        }
+        return null;
+    }
+}
@@ -8,8 +8,8 @@ import trabalho.dto.FornecedorResponseDTO;
 import trabalho.entities.Categoria;
 import trabalho.entities.Fornecedor;
 
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
 public interface FornecedorMapper {
@@ -31,14 +31,28 @@ public interface FornecedorMapper {
     @Mapping(source = "categorias", target = "categoria", qualifiedByName = "mapCategoriasToString")
     FornecedorResponseDTO toResponseDTO(Fornecedor entity);
 
+    // Para listagens: os nomes das categorias já vêm de uma consulta agrupada
+    @Mapping(source = "entity.id", target = "id")
+    @Mapping(source = "entity.createdAt", target = "createdAt")
+    @Mapping(source = "nomesCategorias", target = "categoria", qualifiedByName = "juntarNomesCategorias")
+    FornecedorResponseDTO toResponseDTO(Fornecedor entity, List<String> nomesCategorias);
+
     @Named("mapCategoriasToString")
     default String mapCategoriasToString(Set<Categoria> categorias) {
-        if (categorias == null || categorias.isEmpty()) {
-            return "Geral"; // Valor padrão se não tiver categoria
+        if (categorias == null) {
+            return juntarNomesCategorias(null);
         }
-        // Pega o nome de cada categoria e junta com vírgula
-        return categorias.stream()
+        return juntarNomesCategorias(categorias.stream()
                 .map(Categoria::getNome)
-                .collect(Collectors.joining(", "));
+                .toList());
+    }
+
+    @Named("juntarNomesCategorias")
+    default String juntarNomesCategorias(List<String> nomes) {
+        if (nomes == null || nomes.isEmpty()) {
+            return "Geral"; // Valor padrão se não tiver categoria
+        }
+        // Junta os nomes com vírgula
+        return String.join(", ", nomes);
     }
 }
\ No newline at end of file
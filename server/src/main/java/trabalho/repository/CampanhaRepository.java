@@ -1,16 +1,21 @@
 package trabalho.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 import trabalho.entities.Campanha;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface CampanhaRepository extends JpaRepository<Campanha, UUID> {
+public interface CampanhaRepository extends JpaRepository<Campanha, UUID>, JpaSpecificationExecutor<Campanha> {
 
     List<Campanha> findByNomeContainingIgnoreCase(String nome);
 
     List<Campanha> findByFornecedor_IdAndAtivoTrue(UUID fornecedorId);
 
+    long countByFornecedor_IdAndAtivoTrue(UUID fornecedorId);
+
+    long countByAtivoTrue();
+
 }
\ No newline at end of file
@@ -2,15 +2,35 @@ package trabalho.repository;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import trabalho.entities.Categoria;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface CategoriaRepository extends JpaRepository<Categoria, UUID> {
+public interface CategoriaRepository extends JpaRepository<Categoria, UUID>, JpaSpecificationExecutor<Categoria> {
     List<Categoria> findByNomeContainingIgnoreCase(String nome);
+    @EntityGraph(attributePaths = "fornecedor")
+    List<Categoria> findByFornecedor_IdOrderByNomeAscIdAsc(UUID fornecedorId);
+
     Optional<Categoria> findByFornecedor_IdAndNomeIgnoreCase(@NotNull(message = "Fornecedor é obrigatório") UUID uuid, @NotBlank(message = "Nome é obrigatório") String nome);
+
+    @Query("""
+            SELECT new trabalho.repository.NomeCategoria(c.fornecedor.id, c.nome)
+              FROM Categoria c
+             WHERE c.fornecedor.id IN :fornecedorIds
+             ORDER BY c.nome
+            """)
+    List<NomeCategoria> buscarNomesPorFornecedores(@Param("fornecedorIds") Collection<UUID> fornecedorIds);
+
+    // Carga do índice de fornecedores por categoria
+    @Query("SELECT new trabalho.repository.DocumentoCategoria(c.id, c.fornecedor.id, c.nome) FROM Categoria c")
+    List<DocumentoCategoria> buscarDocumentos();
 }
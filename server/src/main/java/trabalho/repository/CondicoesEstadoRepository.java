@@ -1,6 +1,7 @@
 package trabalho.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import trabalho.entities.CondicoesEstado;
 
@@ -13,4 +14,7 @@ public interface CondicoesEstadoRepository extends JpaRepository<CondicoesEstado
     List<CondicoesEstado> findByAtivoTrue();
 
     Optional<CondicoesEstado> findByFornecedor_IdAndEstado(UUID fornecedorId, String estado);
+
+    @Query("SELECT c FROM CondicoesEstado c JOIN FETCH c.fornecedor")
+    List<CondicoesEstado> findAllComFornecedor();
 }
\ No newline at end of file
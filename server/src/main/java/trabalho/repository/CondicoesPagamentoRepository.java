@@ -1,6 +1,10 @@
 package trabalho.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import trabalho.entities.CondicoesPagamento;
 
@@ -9,12 +13,14 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface CondicoesPagamentoRepository extends JpaRepository<CondicoesPagamento, UUID> {
+public interface CondicoesPagamentoRepository extends JpaRepository<CondicoesPagamento, UUID>, JpaSpecificationExecutor<CondicoesPagamento> {
 
     List<CondicoesPagamento> findByAtivoTrue();
 
     Optional<CondicoesPagamento> findByFornecedor_IdAndDescricaoIgnoreCase(UUID fornecedorId, String descricao);
 
+    // Lida a cada checkout: resultado no cache de consultas, entidades no de segundo nível
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<CondicoesPagamento> findByFornecedor_IdAndAtivoTrue(UUID fornecedorId);
 
 }
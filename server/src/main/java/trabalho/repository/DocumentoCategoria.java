@@ -0,0 +1,6 @@
+package trabalho.repository;
+
+import java.util.UUID;
+
+// Campos de uma categoria usados pelo índice de fornecedores por categoria
+public record DocumentoCategoria(UUID id, UUID fornecedorId, String nome) {}
@@ -0,0 +1,6 @@
+package trabalho.repository;
+
+import java.util.UUID;
+
+// Campos de um produto usados pelo índice de busca, carregados sem as associações
+public record DocumentoProduto(UUID id, UUID fornecedorId, UUID categoriaId, Boolean ativo, String nome, String descricao) {}
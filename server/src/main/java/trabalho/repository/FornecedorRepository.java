@@ -1,15 +1,25 @@
 package trabalho.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import trabalho.dto.CadastroRecenteDTO;
 import trabalho.entities.Fornecedor;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface FornecedorRepository extends JpaRepository<Fornecedor, UUID> {
+public interface FornecedorRepository extends JpaRepository<Fornecedor, UUID>, JpaSpecificationExecutor<Fornecedor> {
     Optional<Fornecedor> findByCnpj(String cnpj);
     List<Fornecedor> findByAtivoTrue();
-    List<Fornecedor> findByCategorias_NomeContainingIgnoreCase(String nomeCategoria);
+
+    @Query("""
+            SELECT new trabalho.dto.CadastroRecenteDTO(f.id, f.nomeFantasia, f.cidade, f.ativo)
+              FROM Fornecedor f
+             ORDER BY f.createdAt DESC
+            """)
+    List<CadastroRecenteDTO> buscarRecentes(Limit limit);
 }
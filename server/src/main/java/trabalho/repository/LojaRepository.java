@@ -2,8 +2,12 @@ package trabalho.repository;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import trabalho.dto.CadastroRecenteDTO;
 import trabalho.entities.Loja;
 
 import java.util.Collection;
@@ -12,8 +16,15 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface LojaRepository extends JpaRepository<Loja, UUID>{
+public interface LojaRepository extends JpaRepository<Loja, UUID>, JpaSpecificationExecutor<Loja>{
     List<Loja> findByNomeFantasiaContainingIgnoreCase(String nomeFantasia);
     Optional<Loja> findByCnpj(@NotBlank(message = "CNPJ é obrigatório") @Size(min = 14, max = 14, message = "CNPJ deve ter 14 dígitos (apenas números)") String cnpj);
     Collection<Loja> findByAtivoTrue();
+
+    @Query("""
+            SELECT new trabalho.dto.CadastroRecenteDTO(l.id, l.nomeFantasia, l.cidade, l.ativo)
+              FROM Loja l
+             ORDER BY l.createdAt DESC
+            """)
+    List<CadastroRecenteDTO> buscarRecentes(Limit limit);
 }
@@ -0,0 +1,6 @@
+package trabalho.repository;
+
+import java.util.UUID;
+
+// Nome de uma categoria e o fornecedor dono, para montar o resumo das listagens sem carregar a coleção
+public record NomeCategoria(UUID fornecedorId, String nome) {}
@@ -0,0 +1,75 @@
+package trabalho.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import trabalho.entities.PedidoFila;
+import trabalho.enums.StatusFilaPedido;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PedidoFilaRepository extends JpaRepository<PedidoFila, UUID> {
+
+    // Assume o ticket só se ainda estiver pendente: dois workers nunca processam o mesmo pedido
+    @Modifying
+    @Query("""
+            UPDATE PedidoFila f
+               SET f.status = trabalho.enums.StatusFilaPedido.PROCESSANDO,
+                   f.tentativas = f.tentativas + 1,
+                   f.atualizadoEm = :agora
+             WHERE f.id = :id AND f.status = trabalho.enums.StatusFilaPedido.PENDENTE
+            """)
+    int assumir(@Param("id") UUID id, @Param("agora") OffsetDateTime agora);
+
+    @Modifying
+    @Query("""
+            UPDATE PedidoFila f
+               SET f.status = :status, f.pedidoId = :pedidoId, f.erro = :erro, f.atualizadoEm = :agora
+             WHERE f.id = :id AND f.status = trabalho.enums.StatusFilaPedido.PROCESSANDO AND f.tentativas = :tentativa
+            """)
+    int finalizar(@Param("id") UUID id,
+                  @Param("tentativa") int tentativa,
+                  @Param("status") StatusFilaPedido status,
+                  @Param("pedidoId") UUID pedidoId,
+                  @Param("erro") String erro,
+                  @Param("agora") OffsetDateTime agora);
+
+    // Devolve à fila o ticket da tentativa que esbarrou em deadlock ou falha de lock
+    @Modifying
+    @Query("""
+            UPDATE PedidoFila f
+               SET f.status = trabalho.enums.StatusFilaPedido.PENDENTE, f.atualizadoEm = :agora
+             WHERE f.id = :id AND f.status = trabalho.enums.StatusFilaPedido.PROCESSANDO AND f.tentativas = :tentativa
+            """)
+    int devolver(@Param("id") UUID id, @Param("tentativa") int tentativa, @Param("agora") OffsetDateTime agora);
+
+    // Devolve à fila os tickets cujo worker sumiu (reinício, queda) sem finalizar
+    @Modifying
+    @Query("""
+            UPDATE PedidoFila f
+               SET f.status = trabalho.enums.StatusFilaPedido.PENDENTE, f.atualizadoEm = :agora
+             WHERE f.status = trabalho.enums.StatusFilaPedido.PROCESSANDO AND f.atualizadoEm < :limite
+            """)
+    int reabrirTravados(@Param("limite") OffsetDateTime limite, @Param("agora") OffsetDateTime agora);
+
+    @Query("""
+            SELECT f.id FROM PedidoFila f
+             WHERE f.status = trabalho.enums.StatusFilaPedido.PENDENTE AND f.atualizadoEm < :limite
+             ORDER BY f.atualizadoEm
+            """)
+    List<UUID> buscarPendentes(@Param("limite") OffsetDateTime limite, Pageable pageable);
+
+    @Modifying
+    @Query("""
+            DELETE FROM PedidoFila f
+             WHERE f.status IN (trabalho.enums.StatusFilaPedido.CONCLUIDO, trabalho.enums.StatusFilaPedido.FALHOU)
+               AND f.atualizadoEm < :limite
+            """)
+    int removerFinalizados(@Param("limite") OffsetDateTime limite);
+}
@@ -0,0 +1,45 @@
+package trabalho.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import trabalho.entities.PedidoIdempotencia;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Repository
+public interface PedidoIdempotenciaRepository extends JpaRepository<PedidoIdempotencia, String> {
+
+    @Modifying
+    @Query("DELETE FROM PedidoIdempotencia i WHERE i.expiraEm < :agora")
+    int removerExpiradas(@Param("agora") OffsetDateTime agora);
+
+    // Grava a chave; uma linha já expirada com a mesma chave é substituída.
+    // Se a chave estiver em uso (inclusive por uma transação concorrente), devolve 0.
+    // A tabela afetada é declarada: sem isso o Hibernate esvazia todo o cache de segundo nível
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pedidos_idempotencia"))
+    @Query(value = """
+            INSERT INTO pedidos_idempotencia (chave, hash_requisicao, pedido_id, resposta, criado_em, expira_em)
+            VALUES (:chave, :hash, :pedidoId, :resposta, :criadoEm, :expiraEm)
+            ON CONFLICT (chave) DO UPDATE
+               SET hash_requisicao = EXCLUDED.hash_requisicao,
+                   pedido_id = EXCLUDED.pedido_id,
+                   resposta = EXCLUDED.resposta,
+                   criado_em = EXCLUDED.criado_em,
+                   expira_em = EXCLUDED.expira_em
+             WHERE pedidos_idempotencia.expira_em <= EXCLUDED.criado_em
+            """, nativeQuery = true)
+    int inserirSeLivre(@Param("chave") String chave,
+                       @Param("hash") String hash,
+                       @Param("pedidoId") UUID pedidoId,
+                       @Param("resposta") String resposta,
+                       @Param("criadoEm") OffsetDateTime criadoEm,
+                       @Param("expiraEm") OffsetDateTime expiraEm);
+}
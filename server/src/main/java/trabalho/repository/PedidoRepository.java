@@ -1,16 +1,98 @@
 package trabalho.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import trabalho.dto.PedidoRecenteDTO;
 import trabalho.entities.Fornecedor;
 import trabalho.entities.Loja;
 import trabalho.entities.Pedido;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface PedidoRepository extends JpaRepository<Pedido, UUID> {
+public interface PedidoRepository extends JpaRepository<Pedido, UUID>, JpaSpecificationExecutor<Pedido>, PedidoRepositoryCustom {
     Collection<Pedido> findByLoja(Loja loja);
     Collection<Pedido> findByFornecedor(Fornecedor fornecedor);
+
+    // Pedido com tudo que o PedidoMapper lê, numa única consulta
+    @EntityGraph(attributePaths = {"loja", "fornecedor", "criadoPorUsuario", "itens", "itens.produto"})
+    @Query("SELECT p FROM Pedido p WHERE p.id = :id")
+    Optional<Pedido> buscarCompleto(@Param("id") UUID id);
+
+    @Query("""
+            SELECT new trabalho.repository.SituacaoPedido(p.id, p.status, p.loja.id, p.fornecedor.id, p.valorTotal, p.cashbackGerado)
+              FROM Pedido p
+             WHERE p.id IN :ids
+            """)
+    List<SituacaoPedido> buscarSituacoes(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("DELETE FROM PedidoItem i WHERE i.pedido.id IN :ids")
+    int excluirItens(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("DELETE FROM Pedido p WHERE p.id IN :ids")
+    int excluir(@Param("ids") Collection<UUID> ids);
+
+    // Mudança de status de um pedido: a gravação é um UPDATE condicional (atualizarStatus),
+    // então a entidade não entra na verificação de alterações do flush
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT p FROM Pedido p WHERE p.id = :id")
+    Optional<Pedido> buscarSomenteLeitura(@Param("id") UUID id);
+
+    // Exportação: cursor no servidor (fetch size) em vez de carregar a tabela inteira.
+    // Precisa de transação aberta enquanto o Stream é consumido.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT p FROM Pedido p
+              JOIN FETCH p.loja
+              JOIN FETCH p.fornecedor
+              JOIN FETCH p.criadoPorUsuario
+             ORDER BY p.id
+            """)
+    Stream<Pedido> streamTodos();
+
+    // Inicializa os itens (e produtos) de um bloco de pedidos já carregados, numa consulta só
+    @Query("""
+            SELECT DISTINCT p FROM Pedido p
+              LEFT JOIN FETCH p.itens i
+              LEFT JOIN FETCH i.produto
+             WHERE p.id IN :ids
+            """)
+    List<Pedido> carregarItens(@Param("ids") Collection<UUID> ids);
+
+    // -----------------------------------------
+    // Dashboards: últimos pedidos (os totais vêm de ContadoresPedidoService)
+    // -----------------------------------------
+    @Query("""
+            SELECT new trabalho.dto.PedidoRecenteDTO(p.id, p.status, p.valorTotal, p.dataPedido, l.nomeFantasia, f.nomeFantasia)
+              FROM Pedido p JOIN p.loja l JOIN p.fornecedor f
+             WHERE f.id = :fornecedorId
+             ORDER BY p.dataPedido DESC
+            """)
+    List<PedidoRecenteDTO> recentesDoFornecedor(@Param("fornecedorId") UUID fornecedorId, Limit limit);
+
+    @Query("""
+            SELECT new trabalho.dto.PedidoRecenteDTO(p.id, p.status, p.valorTotal, p.dataPedido, l.nomeFantasia, f.nomeFantasia)
+              FROM Pedido p JOIN p.loja l JOIN p.fornecedor f
+             WHERE l.id = :lojaId
+             ORDER BY p.dataPedido DESC
+            """)
+    List<PedidoRecenteDTO> recentesDaLoja(@Param("lojaId") UUID lojaId, Limit limit);
 }
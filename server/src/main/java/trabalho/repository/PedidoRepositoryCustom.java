@@ -0,0 +1,31 @@
+package trabalho.repository;
+
+import trabalho.enums.StatusPedido;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PedidoRepositoryCustom {
+
+    /**
+     * Muda para {@code novo} o status dos pedidos informados que ainda estão em {@code atual},
+     * preenchendo a data do novo status se ainda estiver vazia, em um único UPDATE.
+     * Retorna os ids efetivamente alterados (os demais mudaram de status nesse meio tempo).
+     */
+    List<UUID> atualizarStatus(Collection<UUID> pedidoIds, StatusPedido atual, StatusPedido novo, OffsetDateTime agora);
+
+    /**
+     * Devolve ao estoque as quantidades de todos os itens dos pedidos informados
+     * com um único UPDATE agregado por produto, sem carregar itens nem produtos.
+     */
+    void restaurarEstoque(Collection<UUID> pedidoIds);
+
+    /**
+     * Cancela de uma vez todos os pedidos PENDENTES da loja.
+     * Retorna a situação anterior (PENDENTE) de cada pedido cancelado,
+     * para devolver o estoque e atualizar os contadores.
+     */
+    List<SituacaoPedido> cancelarPendentesDaLoja(UUID lojaId, OffsetDateTime agora);
+}
@@ -0,0 +1,102 @@
+package trabalho.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import trabalho.enums.StatusPedido;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class PedidoRepositoryCustomImpl implements PedidoRepositoryCustom {
+
+    // Trava os produtos em ordem de id antes de atualizar, na mesma sequência da reserva
+    // de estoque (ProdutoRepositoryCustomImpl), para não haver deadlock entre as duas
+    private static final String SQL_RESTAURAR_ESTOQUE = """
+            WITH itens AS (
+                SELECT produto_id, SUM(quantidade) AS total
+                  FROM pedido_itens
+                 WHERE pedido_id = ANY(?)
+                 GROUP BY produto_id
+            ), travados AS (
+                SELECT p.id
+                  FROM produtos p
+                  JOIN itens i ON i.produto_id = p.id
+                 ORDER BY p.id
+                   FOR UPDATE OF p
+            )
+            UPDATE produtos p
+               SET quantidade_estoque = p.quantidade_estoque + i.total
+              FROM itens i
+              JOIN travados t ON t.id = i.produto_id
+             WHERE p.id = i.produto_id
+            """;
+
+    private static final String SQL_CANCELAR_PENDENTES_DA_LOJA = """
+            UPDATE pedidos
+               SET status = 'CANCELADO', data_cancelado = COALESCE(data_cancelado, ?)
+             WHERE loja_id = ? AND status = 'PENDENTE'
+            RETURNING id, fornecedor_id, valor_total, cashback_gerado
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<UUID> atualizarStatus(Collection<UUID> pedidoIds, StatusPedido atual, StatusPedido novo, OffsetDateTime agora) {
+        if (pedidoIds.isEmpty()) {
+            return List.of();
+        }
+
+        String coluna = colunaData(novo);
+        String sql = coluna == null
+                ? "UPDATE pedidos SET status = ? WHERE id = ANY(?) AND status = ? RETURNING id"
+                : "UPDATE pedidos SET status = ?, " + coluna + " = COALESCE(" + coluna + ", ?)"
+                  + " WHERE id = ANY(?) AND status = ? RETURNING id";
+
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            int i = 1;
+            ps.setString(i++, novo.name());
+            if (coluna != null) {
+                ps.setObject(i++, agora);
+            }
+            ps.setArray(i++, con.createArrayOf("uuid", pedidoIds.toArray()));
+            ps.setString(i, atual.name());
+            return ps;
+        }, (rs, n) -> rs.getObject(1, UUID.class));
+    }
+
+    @Override
+    public void restaurarEstoque(Collection<UUID> pedidoIds) {
+        if (pedidoIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_RESTAURAR_ESTOQUE);
+            ps.setArray(1, con.createArrayOf("uuid", pedidoIds.toArray()));
+            return ps;
+        });
+    }
+
+    @Override
+    public List<SituacaoPedido> cancelarPendentesDaLoja(UUID lojaId, OffsetDateTime agora) {
+        return jdbcTemplate.query(SQL_CANCELAR_PENDENTES_DA_LOJA,
+                (rs, n) -> new SituacaoPedido(rs.getObject(1, UUID.class), StatusPedido.PENDENTE, lojaId,
+                        rs.getObject(2, UUID.class), rs.getBigDecimal(3), rs.getBigDecimal(4)),
+                agora, lojaId);
+    }
+
+    // Data registrada quando o pedido entra em cada status
+    private static String colunaData(StatusPedido status) {
+        return switch (status) {
+            case EM_SEPARACAO -> "data_separacao";
+            case ENVIADO -> "data_enviado";
+            case ENTREGUE -> "data_entregue";
+            case CANCELADO -> "data_cancelado";
+            case PENDENTE -> null;
+        };
+    }
+}
@@ -1,16 +1,29 @@
 package trabalho.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import trabalho.entities.Fornecedor;
 import trabalho.entities.Produto;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ProdutoRepository extends JpaRepository<Produto, UUID> {
+public interface ProdutoRepository extends JpaRepository<Produto, UUID>, JpaSpecificationExecutor<Produto>, ProdutoRepositoryCustom {
     List<Produto> findByNomeContainingIgnoreCase(String nome);
     List<Produto> findByAtivoTrue();
+
+    // Catálogo do fornecedor: fornecedor e categoria na mesma consulta (lidos pelo ProdutoMapper)
+    @EntityGraph(attributePaths = {"fornecedor", "categoria"})
+    List<Produto> findByFornecedor_IdAndAtivoTrueOrderByNomeAscIdAsc(UUID fornecedorId);
+
+    // Carga do índice de busca: LEFT JOIN porque a categoria é opcional
+    @Query("""
+            SELECT new trabalho.repository.DocumentoProduto(p.id, p.fornecedor.id, c.id, p.ativo, p.nome, p.descricao)
+              FROM Produto p LEFT JOIN p.categoria c
+            """)
+    List<DocumentoProduto> buscarDocumentos();
 }
@@ -0,0 +1,17 @@
+package trabalho.repository;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface ProdutoRepositoryCustom {
+
+    /**
+     * Baixa o estoque de vários produtos em um único comando. As linhas são travadas pelo
+     * próprio banco em ordem de id, a mesma de {@link PedidoRepositoryCustom#restaurarEstoque},
+     * então reservas e cancelamentos concorrentes não entram em deadlock.
+     * As quantidades obrigatórias são tudo ou nada por produto; das opcionais (brindes)
+     * é reservado o que sobrar do saldo depois das obrigatórias.
+     * Se algum produto ficar sem estoque, os demais já foram baixados: cabe ao chamador desfazer a transação.
+     */
+    ReservaEstoque reservarEstoque(Map<UUID, Integer> obrigatorias, Map<UUID, Integer> opcionais);
+}
@@ -0,0 +1,80 @@
+package trabalho.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class ProdutoRepositoryCustomImpl implements ProdutoRepositoryCustom {
+
+    // Trava em ORDER BY id no banco (ordem de bytes do uuid, que não é a de UUID.compareTo)
+    // e baixa só os produtos cuja quantidade obrigatória cabe no saldo travado
+    private static final String SQL_RESERVA = """
+            WITH pedido AS (
+                SELECT id, SUM(obrigatoria) AS obrigatoria, SUM(opcional) AS opcional
+                  FROM unnest(?::uuid[], ?::int[], ?::int[]) AS t(id, obrigatoria, opcional)
+                 GROUP BY id
+            ), travados AS (
+                SELECT p.id, p.quantidade_estoque
+                  FROM produtos p
+                  JOIN pedido q ON q.id = p.id
+                 ORDER BY p.id
+                   FOR UPDATE OF p
+            ), reservas AS (
+                SELECT q.id, q.obrigatoria,
+                       COALESCE(t.quantidade_estoque >= q.obrigatoria, FALSE) AS atendida,
+                       LEAST(q.opcional, GREATEST(COALESCE(t.quantidade_estoque, 0) - q.obrigatoria, 0)) AS opcional
+                  FROM pedido q
+                  LEFT JOIN travados t ON t.id = q.id
+            ), baixa AS (
+                UPDATE produtos p
+                   SET quantidade_estoque = p.quantidade_estoque - r.obrigatoria - r.opcional
+                  FROM reservas r
+                 WHERE p.id = r.id AND r.atendida AND r.obrigatoria + r.opcional > 0
+            )
+            SELECT id, obrigatoria, atendida, opcional FROM reservas
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public ReservaEstoque reservarEstoque(Map<UUID, Integer> obrigatorias, Map<UUID, Integer> opcionais) {
+        Set<UUID> ids = new LinkedHashSet<>(obrigatorias.keySet());
+        ids.addAll(opcionais.keySet());
+        if (ids.isEmpty()) {
+            return new ReservaEstoque(List.of(), Map.of());
+        }
+
+        Object[] produtoIds = ids.toArray();
+        Object[] quantidadesObrigatorias = ids.stream().map(id -> obrigatorias.getOrDefault(id, 0)).toArray();
+        Object[] quantidadesOpcionais = ids.stream().map(id -> opcionais.getOrDefault(id, 0)).toArray();
+
+        List<UUID> semEstoque = new ArrayList<>();
+        Map<UUID, Integer> opcionaisReservadas = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_RESERVA);
+            ps.setArray(1, con.createArrayOf("uuid", produtoIds));
+            ps.setArray(2, con.createArrayOf("integer", quantidadesObrigatorias));
+            ps.setArray(3, con.createArrayOf("integer", quantidadesOpcionais));
+            return ps;
+        }, rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            if (!rs.getBoolean("atendida")) {
+                if (rs.getInt("obrigatoria") > 0) {
+                    semEstoque.add(id);
+                }
+            } else if (rs.getInt("opcional") > 0) {
+                opcionaisReservadas.put(id, rs.getInt("opcional"));
+            }
+        });
+        return new ReservaEstoque(semEstoque, opcionaisReservadas);
+    }
+}
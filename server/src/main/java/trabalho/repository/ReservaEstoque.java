@@ -0,0 +1,13 @@
+package trabalho.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resultado de {@link ProdutoRepositoryCustom#reservarEstoque}.
+ *
+ * @param semEstoque          produtos cuja quantidade obrigatória não coube no saldo
+ * @param opcionaisReservadas quanto das quantidades opcionais (brindes) foi reservado, por produto
+ */
+public record ReservaEstoque(List<UUID> semEstoque, Map<UUID, Integer> opcionaisReservadas) {}
@@ -0,0 +1,10 @@
+package trabalho.repository;
+
+import trabalho.enums.StatusPedido;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Só o necessário para validar uma mudança de status (e atualizar os contadores), sem carregar o pedido
+public record SituacaoPedido(UUID id, StatusPedido status, UUID lojaId, UUID fornecedorId,
+                             BigDecimal valorTotal, BigDecimal cashbackGerado) {}
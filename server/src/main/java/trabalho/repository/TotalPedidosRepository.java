@@ -0,0 +1,30 @@
+package trabalho.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import trabalho.entities.TotalPedidos;
+import trabalho.entities.TotalPedidosId;
+import trabalho.enums.EscopoTotal;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TotalPedidosRepository extends JpaRepository<TotalPedidos, TotalPedidosId>, TotalPedidosRepositoryCustom {
+
+    @Query("""
+            SELECT new trabalho.repository.TotalPorStatus(t.status, t.quantidade, t.valorCentavos, t.cashbackCentavos)
+              FROM TotalPedidos t
+             WHERE t.escopo = :escopo AND t.donoId = :donoId
+            """)
+    List<TotalPorStatus> buscar(@Param("escopo") EscopoTotal escopo, @Param("donoId") UUID donoId);
+
+    @Query("""
+            SELECT new trabalho.repository.TotalPorStatus(t.status, t.quantidade, t.valorCentavos, t.cashbackCentavos)
+              FROM TotalPedidos t
+             WHERE t.escopo = :escopo
+            """)
+    List<TotalPorStatus> buscarTodos(@Param("escopo") EscopoTotal escopo);
+}
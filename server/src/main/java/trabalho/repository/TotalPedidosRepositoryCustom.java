@@ -0,0 +1,24 @@
+package trabalho.repository;
+
+import trabalho.enums.EscopoTotal;
+import trabalho.enums.StatusPedido;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface TotalPedidosRepositoryCustom {
+
+    /**
+     * Soma as diferenças às linhas existentes (INSERT ... ON CONFLICT DO UPDATE),
+     * em um único lote JDBC.
+     */
+    void somar(Collection<Diferenca> diferencas);
+
+    /**
+     * Preenche a tabela a partir de pedidos com um GROUP BY, somente se ela estiver vazia.
+     * Retorna o número de linhas inseridas.
+     */
+    int carregarSeVazia();
+
+    record Diferenca(EscopoTotal escopo, UUID donoId, StatusPedido status, long quantidade, long valorCentavos, long cashbackCentavos) {}
+}
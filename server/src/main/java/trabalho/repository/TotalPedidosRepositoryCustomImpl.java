@@ -0,0 +1,62 @@
+package trabalho.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TotalPedidosRepositoryCustomImpl implements TotalPedidosRepositoryCustom {
+
+    private static final String SQL_SOMAR = """
+            INSERT INTO pedidos_totais (escopo, dono_id, status, quantidade, valor_centavos, cashback_centavos)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (escopo, dono_id, status) DO UPDATE
+               SET quantidade = pedidos_totais.quantidade + EXCLUDED.quantidade,
+                   valor_centavos = pedidos_totais.valor_centavos + EXCLUDED.valor_centavos,
+                   cashback_centavos = pedidos_totais.cashback_centavos + EXCLUDED.cashback_centavos
+            """;
+
+    // Serializa a carga inicial entre instâncias que sobem ao mesmo tempo
+    private static final String SQL_TRAVAR_CARGA = "SELECT pg_advisory_xact_lock(hashtext('pedidos_totais'))";
+
+    private static final String SQL_CARREGAR = """
+            INSERT INTO pedidos_totais (escopo, dono_id, status, quantidade, valor_centavos, cashback_centavos)
+            SELECT 'LOJA', loja_id, status, COUNT(*),
+                   COALESCE(SUM(ROUND(valor_total * 100)), 0)::bigint,
+                   COALESCE(SUM(ROUND(cashback_gerado * 100)), 0)::bigint
+              FROM pedidos
+             GROUP BY loja_id, status
+            UNION ALL
+            SELECT 'FORNECEDOR', fornecedor_id, status, COUNT(*),
+                   COALESCE(SUM(ROUND(valor_total * 100)), 0)::bigint,
+                   COALESCE(SUM(ROUND(cashback_gerado * 100)), 0)::bigint
+              FROM pedidos
+             GROUP BY fornecedor_id, status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void somar(Collection<Diferenca> diferencas) {
+        if (diferencas.isEmpty()) {
+            return;
+        }
+        List<Object[]> linhas = diferencas.stream()
+                .map(d -> new Object[]{d.escopo().name(), d.donoId(), d.status().name(),
+                        d.quantidade(), d.valorCentavos(), d.cashbackCentavos()})
+                .toList();
+        jdbcTemplate.batchUpdate(SQL_SOMAR, linhas);
+    }
+
+    @Override
+    public int carregarSeVazia() {
+        jdbcTemplate.query(SQL_TRAVAR_CARGA, rs -> null);
+        Boolean vazia = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM pedidos_totais)", Boolean.class);
+        if (!Boolean.TRUE.equals(vazia)) {
+            return 0;
+        }
+        return jdbcTemplate.update(SQL_CARREGAR);
+    }
+}
@@ -0,0 +1,6 @@
+package trabalho.repository;
+
+import trabalho.enums.StatusPedido;
+
+// Totais de uma loja ou fornecedor em um status (valores em centavos)
+public record TotalPorStatus(StatusPedido status, long quantidade, long valorCentavos, long cashbackCentavos) {}
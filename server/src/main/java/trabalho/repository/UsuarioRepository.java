@@ -1,6 +1,9 @@
 package trabalho.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import trabalho.entities.Usuario;
 
@@ -9,7 +12,17 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
+public interface UsuarioRepository extends JpaRepository<Usuario, UUID>, JpaSpecificationExecutor<Usuario> {
     Optional<Usuario> findByEmail(String email);
     List<Usuario> findByNomeContainingIgnoreCase(String nome);
+
+    // Consulta pela PK, sem carregar o usuário nem as coleções de usuários de lojas/fornecedores
+    @Query("""
+            SELECT new trabalho.repository.VinculoUsuario(u.id, u.tipoUsuario, l.id, f.id)
+              FROM Usuario u
+              LEFT JOIN u.loja l
+              LEFT JOIN u.fornecedor f
+             WHERE u.id = :id
+            """)
+    Optional<VinculoUsuario> buscarVinculo(@Param("id") UUID id);
 }
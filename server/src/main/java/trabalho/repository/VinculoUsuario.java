@@ -0,0 +1,21 @@
+package trabalho.repository;
+
+import trabalho.enums.TipoUsuario;
+
+import java.util.UUID;
+
+// Papel do usuário e a loja/fornecedor a que pertence, lidos direto das FKs de usuarios
+public record VinculoUsuario(UUID usuarioId, TipoUsuario tipoUsuario, UUID lojaId, UUID fornecedorId) {
+
+    public boolean isAdmin() {
+        return tipoUsuario == TipoUsuario.ADMIN;
+    }
+
+    public boolean pertenceALoja(UUID lojaId) {
+        return this.lojaId != null && this.lojaId.equals(lojaId);
+    }
+
+    public boolean pertenceAoFornecedor(UUID fornecedorId) {
+        return this.fornecedorId != null && this.fornecedorId.equals(fornecedorId);
+    }
+}
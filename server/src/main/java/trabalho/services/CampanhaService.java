@@ -3,8 +3,11 @@ package trabalho.services;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import trabalho.cache.CampanhaCache;
+import trabalho.cache.LeiturasCompartilhadas;
 import trabalho.dto.CampanhaRequestDTO;
 import trabalho.dto.CampanhaResponseDTO;
+import trabalho.dto.Pagina;
 import trabalho.entities.Campanha;
 import trabalho.entities.Fornecedor;
 import trabalho.entities.Produto;
@@ -25,6 +28,8 @@ public class CampanhaService {
     private final FornecedorRepository fornecedorRepository;
     private final ProdutoRepository produtoRepository;
     private final CampanhaMapper campanhaMapper;
+    private final CampanhaCache campanhaCache;
+    private final LeiturasCompartilhadas leiturasCompartilhadas;
 
     @Transactional
     public CampanhaResponseDTO criarCampanha(CampanhaRequestDTO dto) {
@@ -49,22 +54,21 @@ public class CampanhaService {
         }
 
         Campanha salvo = campanhaRepository.save(campanha);
+        campanhaCache.invalidar(fornecedor.getId());
+        leiturasCompartilhadas.invalidar(LeiturasCompartilhadas.CAMPANHAS);
         return campanhaMapper.toResponseDTO(salvo);
     }
 
     @Transactional(readOnly = true)
-    public List<CampanhaResponseDTO> listarCampanhas() {
-        return campanhaRepository.findAll().stream()
-                .map(campanhaMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public Pagina<CampanhaResponseDTO> listarCampanhas(UUID fornecedorId, Boolean ativo, UUID after, Integer limit) {
+        return Paginacao.buscar(campanhaRepository,
+                Paginacao.todos(Paginacao.igual("fornecedor.id", fornecedorId), Paginacao.igual("ativo", ativo)),
+                after, limit, Campanha::getId, campanhaMapper::toResponseDTO);
     }
 
     @Transactional(readOnly = true)
-    public List<CampanhaResponseDTO> listarCampanhasAtivas() {
-        return campanhaRepository.findAll().stream()
-                .filter(Campanha::getAtivo)
-                .map(campanhaMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public Pagina<CampanhaResponseDTO> listarCampanhasAtivas(UUID after, Integer limit) {
+        return listarCampanhas(null, true, after, limit);
     }
 
     @Transactional(readOnly = true)
@@ -110,14 +114,17 @@ public class CampanhaService {
         }
 
         Campanha atualizado = campanhaRepository.save(campanha);
+        campanhaCache.invalidar(campanha.getFornecedor().getId());
+        leiturasCompartilhadas.invalidar(LeiturasCompartilhadas.CAMPANHAS);
         return campanhaMapper.toResponseDTO(atualizado);
     }
 
     @Transactional
     public void deletarCampanha(UUID id) {
-        if (!campanhaRepository.existsById(id)) {
-            throw new RuntimeException("Campanha não encontrada.");
-        }
-        campanhaRepository.deleteById(id);
+        Campanha campanha = campanhaRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Campanha não encontrada."));
+        campanhaRepository.delete(campanha);
+        campanhaCache.invalidar(campanha.getFornecedor().getId());
+        leiturasCompartilhadas.invalidar(LeiturasCompartilhadas.CAMPANHAS);
     }
 }
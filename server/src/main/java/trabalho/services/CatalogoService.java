@@ -0,0 +1,194 @@
+package trabalho.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import trabalho.cache.VersoesCatalogo;
+import trabalho.dto.CatalogoResponseDTO;
+import trabalho.mapper.CategoriaMapper;
+import trabalho.mapper.ProdutoMapper;
+import trabalho.repository.CategoriaRepository;
+import trabalho.repository.FornecedorRepository;
+import trabalho.repository.ProdutoRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Catálogo de cada fornecedor servido de snapshots imutáveis em memória, já serializados
+ * em JSON (puro e gzip). A leitura é uma consulta ao mapa e uma cópia de bytes: JPA,
+ * MapStruct e Jackson só rodam quando o catálogo muda.
+ * <p>
+ * Depois de cada commit que altera o catálogo de um fornecedor já lido, o snapshot é
+ * reconstruído em segundo plano, uma reconstrução por vez por fornecedor. Enquanto ela
+ * roda, as leituras recebem o snapshot anterior (com a ETag da versão dele); só a primeira
+ * leitura de um fornecedor espera a carga, e leituras simultâneas esperam a mesma.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogoService {
+
+    private final FornecedorRepository fornecedorRepository;
+    private final ProdutoRepository produtoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final ProdutoMapper produtoMapper;
+    private final CategoriaMapper categoriaMapper;
+    private final VersoesCatalogo versoesCatalogo;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<Snapshot>> emConstrucao = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    void iniciar() {
+        versoesCatalogo.aoAlterar(this::agendarReconstrucao);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    public String etag(Snapshot snapshot, boolean gzip) {
+        return versoesCatalogo.etag(snapshot.versao(), gzip);
+    }
+
+    // -----------------------------------------
+    // Leitura (null se o fornecedor não existe)
+    // -----------------------------------------
+    public Snapshot snapshot(UUID fornecedorId) {
+        Snapshot atual = snapshots.get(fornecedorId);
+        if (atual != null) {
+            if (atual.versao() != versoesCatalogo.versao(fornecedorId)) {
+                reconstruir(fornecedorId);
+            }
+            return atual;
+        }
+        try {
+            return reconstruir(fornecedorId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    // -----------------------------------------
+    // Construção
+    // -----------------------------------------
+    // Só fornecedores cujo catálogo já foi lido ficam em memória
+    private void agendarReconstrucao(UUID fornecedorId) {
+        if (snapshots.containsKey(fornecedorId)) {
+            reconstruir(fornecedorId);
+        }
+    }
+
+    // Uma construção por fornecedor: quem chega durante ela recebe a mesma futura
+    private CompletableFuture<Snapshot> reconstruir(UUID fornecedorId) {
+        CompletableFuture<Snapshot> nova = new CompletableFuture<>();
+        CompletableFuture<Snapshot> existente = emConstrucao.putIfAbsent(fornecedorId, nova);
+        if (existente != null) {
+            return existente;
+        }
+        try {
+            executor.execute(() -> construirEm(fornecedorId, nova));
+        } catch (RejectedExecutionException e) {
+            // Servidor em desligamento
+            emConstrucao.remove(fornecedorId, nova);
+            nova.completeExceptionally(e);
+        }
+        return nova;
+    }
+
+    private void construirEm(UUID fornecedorId, CompletableFuture<Snapshot> nova) {
+        Snapshot snapshot;
+        try {
+            snapshot = construir(fornecedorId);
+            if (snapshot == null) {
+                // Fornecedor excluído
+                snapshots.remove(fornecedorId);
+            }
+        } catch (RuntimeException e) {
+            // Falha de banco: segue valendo o snapshot anterior e a próxima leitura tenta de novo
+            emConstrucao.remove(fornecedorId, nova);
+            nova.completeExceptionally(e);
+            return;
+        }
+        // Sai do mapa antes de completar; escritas durante a carga pegaram esta mesma futura,
+        // então se a versão andou é preciso construir de novo
+        emConstrucao.remove(fornecedorId, nova);
+        nova.complete(snapshot);
+        if (snapshot != null && snapshot.versao() != versoesCatalogo.versao(fornecedorId)) {
+            reconstruir(fornecedorId);
+        }
+    }
+
+    private Snapshot construir(UUID fornecedorId) {
+        // Versão lida antes dos dados: se houver escrita no meio, o snapshot já nasce desatualizado
+        long versao = versoesCatalogo.versao(fornecedorId);
+        CatalogoResponseDTO catalogo = transactionTemplate.execute(status -> carregar(fornecedorId));
+        if (catalogo == null) {
+            return null;
+        }
+
+        byte[] json = serializar(catalogo);
+        Snapshot novo = new Snapshot(versao, json, compactar(json));
+        snapshots.merge(fornecedorId, novo, (anterior, n) -> n.versao() >= anterior.versao() ? n : anterior);
+        return novo;
+    }
+
+    // Ordem estável (nome, id): o mesmo conteúdo gera sempre os mesmos bytes para a mesma ETag
+    private CatalogoResponseDTO carregar(UUID fornecedorId) {
+        if (!fornecedorRepository.existsById(fornecedorId)) {
+            return null;
+        }
+        return new CatalogoResponseDTO(
+                fornecedorId,
+                categoriaRepository.findByFornecedor_IdOrderByNomeAscIdAsc(fornecedorId).stream()
+                        .map(categoriaMapper::toResponseDTO)
+                        .toList(),
+                produtoRepository.findByFornecedor_IdAndAtivoTrueOrderByNomeAscIdAsc(fornecedorId).stream()
+                        .map(produtoMapper::toResponseDTO)
+                        .toList());
+    }
+
+    private byte[] serializar(CatalogoResponseDTO catalogo) {
+        try {
+            return objectMapper.writeValueAsBytes(catalogo);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Falha ao serializar o catálogo.", e);
+        }
+    }
+
+    private static byte[] compactar(byte[] json) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new RuntimeException("Falha ao compactar o catálogo.", e);
+        }
+        return saida.toByteArray();
+    }
+
+    /**
+     * Catálogo já serializado. Os arrays nunca são alterados depois de construídos;
+     * quem os recebe só os copia para a resposta.
+     */
+    public record Snapshot(long versao, byte[] json, byte[] gzip) {}
+}
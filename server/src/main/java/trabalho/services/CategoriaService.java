@@ -3,12 +3,18 @@ package trabalho.services;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import trabalho.cache.IndiceCategoriasFornecedor;
+import trabalho.cache.IndiceProdutos;
+import trabalho.cache.LeiturasCompartilhadas;
+import trabalho.cache.VersoesCatalogo;
 import trabalho.dto.CategoriaRequestDTO;
 import trabalho.dto.CategoriaResponseDTO;
+import trabalho.dto.Pagina;
 import trabalho.entities.Categoria;
 import trabalho.entities.Fornecedor;
 import trabalho.mapper.CategoriaMapper;
 import trabalho.repository.CategoriaRepository;
+import trabalho.repository.DocumentoCategoria;
 import trabalho.repository.FornecedorRepository;
 
 import java.util.List;
@@ -22,6 +28,10 @@ public class CategoriaService {
     private final CategoriaRepository categoriaRepository;
     private final FornecedorRepository fornecedorRepository;
     private final CategoriaMapper categoriaMapper;
+    private final IndiceProdutos indiceProdutos;
+    private final IndiceCategoriasFornecedor indiceCategoriasFornecedor;
+    private final VersoesCatalogo versoesCatalogo;
+    private final LeiturasCompartilhadas leiturasCompartilhadas;
 
     @Transactional
     public CategoriaResponseDTO criarCategoria(CategoriaRequestDTO dto) {
@@ -44,14 +54,16 @@ public class CategoriaService {
         }
 
         Categoria salva = categoriaRepository.save(categoria);
+        indiceCategoriasFornecedor.atualizar(documento(salva));
+        versoesCatalogo.alterado(salva.getFornecedor().getId());
+        invalidarListagens();
         return categoriaMapper.toResponseDTO(salva);
     }
 
     @Transactional
-    public List<CategoriaResponseDTO> listarTodas() {
-        return categoriaRepository.findAll().stream()
-                .map(categoriaMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public Pagina<CategoriaResponseDTO> listarTodas(UUID fornecedorId, UUID after, Integer limit) {
+        return Paginacao.buscar(categoriaRepository, Paginacao.igual("fornecedor.id", fornecedorId),
+                after, limit, Categoria::getId, categoriaMapper::toResponseDTO);
     }
 
     @Transactional
@@ -73,6 +85,7 @@ public class CategoriaService {
     public CategoriaResponseDTO atualizar(UUID id, CategoriaRequestDTO dto) {
         Categoria cat = categoriaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Categoria não encontrada."));
+        UUID fornecedorAnterior = cat.getFornecedor().getId();
 
         // Se mudar de nome, valida duplicidade novamente
         if (!cat.getNome().equalsIgnoreCase(dto.nome())) {
@@ -96,14 +109,29 @@ public class CategoriaService {
         categoriaMapper.updateFromDTO(dto, cat);
 
         Categoria atualizada = categoriaRepository.save(cat);
+        indiceCategoriasFornecedor.atualizar(documento(atualizada));
+        versoesCatalogo.alterados(List.of(fornecedorAnterior, atualizada.getFornecedor().getId()));
+        invalidarListagens();
         return categoriaMapper.toResponseDTO(atualizada);
     }
 
     @Transactional
     public void deletar(UUID id) {
-        if (!categoriaRepository.existsById(id)) {
-            throw new RuntimeException("Categoria não encontrada.");
-        }
-        categoriaRepository.deleteById(id);
+        Categoria categoria = categoriaRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Categoria não encontrada."));
+        categoriaRepository.delete(categoria);
+        indiceProdutos.removerCategoria(id);
+        indiceCategoriasFornecedor.remover(id);
+        versoesCatalogo.alterado(categoria.getFornecedor().getId());
+        invalidarListagens();
+    }
+
+    // O nome das categorias também aparece na listagem de fornecedores
+    private void invalidarListagens() {
+        leiturasCompartilhadas.invalidar(LeiturasCompartilhadas.CATEGORIAS, LeiturasCompartilhadas.FORNECEDORES);
+    }
+
+    private static DocumentoCategoria documento(Categoria categoria) {
+        return new DocumentoCategoria(categoria.getId(), categoria.getFornecedor().getId(), categoria.getNome());
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package trabalho.services;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import trabalho.cache.CondicoesRegionaisCache;
 import trabalho.dto.CondicoesEstadoRequestDTO;
 import trabalho.dto.CondicoesEstadoResponseDTO;
 import trabalho.entities.CondicoesEstado;
@@ -13,7 +14,6 @@ import trabalho.repository.FornecedorRepository;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +22,7 @@ public class CondicoesEstadoService {
     private final CondicoesEstadoRepository condicoesEstadoRepository;
     private final FornecedorRepository fornecedorRepository;
     private final CondicoesEstadoMapper condicoesEstadoMapper;
+    private final CondicoesRegionaisCache condicoesRegionaisCache;
 
     @Transactional
     public CondicoesEstadoResponseDTO criarCondicao(CondicoesEstadoRequestDTO dto) {
@@ -34,21 +35,25 @@ public class CondicoesEstadoService {
         entity.setAtivo(true);
 
         CondicoesEstado salvo = condicoesEstadoRepository.save(entity);
+        condicoesRegionaisCache.invalidar();
         return condicoesEstadoMapper.toResponseDTO(salvo);
     }
 
-    @Transactional(readOnly = true)
+    // Leituras em massa servidas da tabela em memória (CondicoesRegionaisCache)
     public List<CondicoesEstadoResponseDTO> listarTudo() {
-        return condicoesEstadoRepository.findAll().stream()
-                .map(condicoesEstadoMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return condicoesRegionaisCache.listarTudo();
     }
 
-    @Transactional(readOnly = true)
     public List<CondicoesEstadoResponseDTO> listarAtivos() {
-        return condicoesEstadoRepository.findByAtivoTrue().stream()
-                .map(condicoesEstadoMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return condicoesRegionaisCache.listarAtivos();
+    }
+
+    public List<CondicoesEstadoResponseDTO> listarPorFornecedor(UUID fornecedorId) {
+        return condicoesRegionaisCache.listarPorFornecedor(fornecedorId);
+    }
+
+    public List<CondicoesEstadoResponseDTO> listarPorEstado(String estado) {
+        return condicoesRegionaisCache.listarPorEstado(estado);
     }
 
     @Transactional(readOnly = true)
@@ -82,6 +87,7 @@ public class CondicoesEstadoService {
         condicao.setAtivo(dto.ativo());
 
         CondicoesEstado atualizado = condicoesEstadoRepository.save(condicao);
+        condicoesRegionaisCache.invalidar();
 
         return condicoesEstadoMapper.toResponseDTO(atualizado);
     }
@@ -93,5 +99,6 @@ public class CondicoesEstadoService {
             throw new RuntimeException("Condição de estado não encontrada.");
         }
         condicoesEstadoRepository.deleteById(id);
+        condicoesRegionaisCache.invalidar();
     }
 }
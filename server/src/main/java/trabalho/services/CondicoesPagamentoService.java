@@ -5,10 +5,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import trabalho.dto.CondicoesPagamentoRequestDTO;
 import trabalho.dto.CondicoesPagamentoResponseDTO;
+import trabalho.dto.Pagina;
 import trabalho.entities.CondicoesPagamento;
+import trabalho.mapper.CondicoesPagamentoMapper;
 import trabalho.repository.CondicoesPagamentoRepository;
 import trabalho.repository.FornecedorRepository;
-import trabalho.mapper.CondicoesPagamentoMapper;
 
 import java.util.List;
 import java.util.UUID;
@@ -49,20 +50,18 @@ public class CondicoesPagamentoService {
     // READ — listar todas
     // -----------------------------------------
     @Transactional(readOnly = true)
-    public List<CondicoesPagamentoResponseDTO> listarTodos() {
-        return condicoesPagamentoRepository.findAll().stream()
-                .map(condicoesPagamentoMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public Pagina<CondicoesPagamentoResponseDTO> listarTodos(UUID fornecedorId, Boolean ativo, UUID after, Integer limit) {
+        return Paginacao.buscar(condicoesPagamentoRepository,
+                Paginacao.todos(Paginacao.igual("fornecedor.id", fornecedorId), Paginacao.igual("ativo", ativo)),
+                after, limit, CondicoesPagamento::getId, condicoesPagamentoMapper::toResponseDTO);
     }
 
     // -----------------------------------------
     // READ — listar apenas ativos
     // -----------------------------------------
     @Transactional(readOnly = true)
-    public List<CondicoesPagamentoResponseDTO> listarAtivos() {
-        return condicoesPagamentoRepository.findByAtivoTrue().stream()
-                .map(condicoesPagamentoMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public Pagina<CondicoesPagamentoResponseDTO> listarAtivos(UUID after, Integer limit) {
+        return listarTodos(null, true, after, limit);
     }
 
     // READ BY ID (GET)
@@ -0,0 +1,274 @@
+package trabalho.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import trabalho.cache.AposCommit;
+import trabalho.cache.Centavos;
+import trabalho.enums.EscopoTotal;
+import trabalho.enums.StatusPedido;
+import trabalho.repository.SituacaoPedido;
+import trabalho.repository.TotalPedidosRepository;
+import trabalho.repository.TotalPedidosRepositoryCustom.Diferenca;
+import trabalho.repository.TotalPorStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Contadores de pedidos por loja e por fornecedor: quantidade, valor e cashback por status.
+ * Criações, mudanças de status e exclusões somam diferenças em acumuladores LongAdder
+ * (só depois do commit); periodicamente as diferenças pendentes viram um lote de upserts
+ * em pedidos_totais. As leituras juntam a tabela com o que ainda não foi descarregado,
+ * então os painéis nunca varrem a tabela de pedidos.
+ */
+@Service
+@RequiredArgsConstructor
+public class ContadoresPedidoService implements SmartInitializingSingleton {
+
+    private final TotalPedidosRepository totalPedidosRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Chave, Acumulador> pendentes = new ConcurrentHashMap<>();
+
+    // Diferenças já retiradas dos acumuladores e ainda não confirmadas no banco;
+    // as leituras somam estas também, então nada some durante a descarga
+    private volatile List<Diferenca> emGravacao = List.of();
+
+    // Escritas nos acumuladores não travam. O lock de escrita é tomado só por instantes:
+    // para trocar os acumuladores por emGravacao e para o commit (que torna as diferenças
+    // visíveis no banco e esvazia emGravacao), nunca durante os upserts
+    private final ReentrantReadWriteLock descarga = new ReentrantReadWriteLock();
+
+    // -----------------------------------------
+    // Carga inicial (antes de o servidor aceitar requisições)
+    // -----------------------------------------
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> totalPedidosRepository.carregarSeVazia());
+    }
+
+    // -----------------------------------------
+    // Registro de eventos (aplicados após o commit)
+    // -----------------------------------------
+    public void registrarCriacao(SituacaoPedido pedido) {
+        List<Movimento> movimentos = new ArrayList<>(2);
+        adicionar(movimentos, pedido, pedido.status(), 1);
+        aplicarAposCommit(movimentos);
+    }
+
+    // Pedidos com o status anterior à mudança; os que já estavam em novo são ignorados
+    public void registrarTransicoes(Collection<SituacaoPedido> pedidos, StatusPedido novo) {
+        List<Movimento> movimentos = new ArrayList<>(pedidos.size() * 4);
+        for (SituacaoPedido pedido : pedidos) {
+            if (pedido.status() != novo) {
+                adicionar(movimentos, pedido, pedido.status(), -1);
+                adicionar(movimentos, pedido, novo, 1);
+            }
+        }
+        aplicarAposCommit(movimentos);
+    }
+
+    public void registrarExclusao(SituacaoPedido pedido) {
+        List<Movimento> movimentos = new ArrayList<>(2);
+        adicionar(movimentos, pedido, pedido.status(), -1);
+        aplicarAposCommit(movimentos);
+    }
+
+    // -----------------------------------------
+    // Leitura
+    // -----------------------------------------
+    public List<TotalPorStatus> totais(EscopoTotal escopo, UUID donoId) {
+        descarga.readLock().lock();
+        try {
+            Map<StatusPedido, TotalPorStatus> porStatus = new EnumMap<>(StatusPedido.class);
+            for (TotalPorStatus total : totalPedidosRepository.buscar(escopo, donoId)) {
+                somar(porStatus, total);
+            }
+            for (StatusPedido status : StatusPedido.values()) {
+                Acumulador acumulador = pendentes.get(new Chave(escopo, donoId, status));
+                if (acumulador != null) {
+                    somar(porStatus, acumulador.total(status));
+                }
+            }
+            for (Diferenca d : emGravacao) {
+                if (d.escopo() == escopo && d.donoId().equals(donoId)) {
+                    somar(porStatus, total(d));
+                }
+            }
+            return List.copyOf(porStatus.values());
+        } finally {
+            descarga.readLock().unlock();
+        }
+    }
+
+    // Soma de todas as lojas (ou de todos os fornecedores) por status
+    public List<TotalPorStatus> totaisGerais(EscopoTotal escopo) {
+        descarga.readLock().lock();
+        try {
+            Map<StatusPedido, TotalPorStatus> porStatus = new EnumMap<>(StatusPedido.class);
+            for (TotalPorStatus total : totalPedidosRepository.buscarTodos(escopo)) {
+                somar(porStatus, total);
+            }
+            pendentes.forEach((chave, acumulador) -> {
+                if (chave.escopo() == escopo) {
+                    somar(porStatus, acumulador.total(chave.status()));
+                }
+            });
+            for (Diferenca d : emGravacao) {
+                if (d.escopo() == escopo) {
+                    somar(porStatus, total(d));
+                }
+            }
+            return List.copyOf(porStatus.values());
+        } finally {
+            descarga.readLock().unlock();
+        }
+    }
+
+    // -----------------------------------------
+    // Descarga periódica para pedidos_totais
+    // -----------------------------------------
+    @Scheduled(fixedDelayString = "${pedidos.contadores.descarga-ms:5000}")
+    public synchronized void descarregar() {
+        List<Diferenca> diferencas = new ArrayList<>();
+        descarga.writeLock().lock();
+        try {
+            pendentes.forEach((chave, acumulador) -> {
+                Diferenca diferenca = acumulador.zerar(chave);
+                if (diferenca != null) {
+                    diferencas.add(diferenca);
+                }
+            });
+            emGravacao = diferencas;
+        } finally {
+            descarga.writeLock().unlock();
+        }
+        if (diferencas.isEmpty()) {
+            return;
+        }
+
+        // Upserts sem lock; só o commit acontece com as leituras bloqueadas
+        PlatformTransactionManager transactionManager = transactionTemplate.getTransactionManager();
+        TransactionStatus transacao = transactionManager.getTransaction(transactionTemplate);
+        try {
+            totalPedidosRepository.somar(diferencas);
+        } catch (RuntimeException e) {
+            transactionManager.rollback(transacao);
+            devolver(diferencas);
+            throw e;
+        }
+
+        descarga.writeLock().lock();
+        try {
+            transactionManager.commit(transacao);
+            emGravacao = List.of();
+        } catch (RuntimeException e) {
+            devolver(diferencas);
+            throw e;
+        } finally {
+            descarga.writeLock().unlock();
+        }
+    }
+
+    // Nada se perde: as diferenças voltam para a próxima descarga
+    private void devolver(List<Diferenca> diferencas) {
+        descarga.writeLock().lock();
+        try {
+            for (Diferenca d : diferencas) {
+                pendentes.computeIfAbsent(new Chave(d.escopo(), d.donoId(), d.status()), c -> new Acumulador())
+                        .somar(d.quantidade(), d.valorCentavos(), d.cashbackCentavos());
+            }
+            emGravacao = List.of();
+        } finally {
+            descarga.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        descarregar();
+    }
+
+    // -----------------------------------------
+    // Internos
+    // -----------------------------------------
+    private static void adicionar(List<Movimento> movimentos, SituacaoPedido pedido, StatusPedido status, int sinal) {
+        long valor = sinal * centavos(pedido.valorTotal());
+        long cashback = sinal * centavos(pedido.cashbackGerado());
+        movimentos.add(new Movimento(new Chave(EscopoTotal.LOJA, pedido.lojaId(), status), sinal, valor, cashback));
+        movimentos.add(new Movimento(new Chave(EscopoTotal.FORNECEDOR, pedido.fornecedorId(), status), sinal, valor, cashback));
+    }
+
+    private void aplicarAposCommit(List<Movimento> movimentos) {
+        if (movimentos.isEmpty()) {
+            return;
+        }
+        AposCommit.executar(() -> {
+            for (Movimento m : movimentos) {
+                pendentes.computeIfAbsent(m.chave(), c -> new Acumulador())
+                        .somar(m.quantidade(), m.valorCentavos(), m.cashbackCentavos());
+            }
+        });
+    }
+
+    private static TotalPorStatus total(Diferenca d) {
+        return new TotalPorStatus(d.status(), d.quantidade(), d.valorCentavos(), d.cashbackCentavos());
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor == null ? 0 : Centavos.de(valor);
+    }
+
+    private static void somar(Map<StatusPedido, TotalPorStatus> porStatus, TotalPorStatus total) {
+        porStatus.merge(total.status(), total, (a, b) -> new TotalPorStatus(a.status(),
+                a.quantidade() + b.quantidade(),
+                a.valorCentavos() + b.valorCentavos(),
+                a.cashbackCentavos() + b.cashbackCentavos()));
+    }
+
+    private record Chave(EscopoTotal escopo, UUID donoId, StatusPedido status) {}
+
+    private record Movimento(Chave chave, long quantidade, long valorCentavos, long cashbackCentavos) {}
+
+    // LongAdder: várias threads somando na mesma chave não disputam o mesmo campo
+    private static final class Acumulador {
+        private final LongAdder quantidade = new LongAdder();
+        private final LongAdder valorCentavos = new LongAdder();
+        private final LongAdder cashbackCentavos = new LongAdder();
+
+        void somar(long quantidade, long valor, long cashback) {
+            this.quantidade.add(quantidade);
+            this.valorCentavos.add(valor);
+            this.cashbackCentavos.add(cashback);
+        }
+
+        TotalPorStatus total(StatusPedido status) {
+            return new TotalPorStatus(status, quantidade.sum(), valorCentavos.sum(), cashbackCentavos.sum());
+        }
+
+        // Retorna o que estava pendente (ou null se nada mudou) e zera
+        Diferenca zerar(Chave chave) {
+            long q = quantidade.sumThenReset();
+            long v = valorCentavos.sumThenReset();
+            long c = cashbackCentavos.sumThenReset();
+            if (q == 0 && v == 0 && c == 0) {
+                return null;
+            }
+            return new Diferenca(chave.escopo(), chave.donoId(), chave.status(), q, v, c);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package trabalho.services;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import trabalho.cache.CampanhaCache;
+import trabalho.cache.CondicoesRegionaisCache;
+import trabalho.cache.CotacaoCache;
+import trabalho.dto.CotacaoItemDTO;
+import trabalho.dto.CotacaoRequestDTO;
+import trabalho.dto.CotacaoResponseDTO;
+import trabalho.dto.PedidoItemRequestDTO;
+import trabalho.entities.Produto;
+import trabalho.repository.ProdutoRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cotação de um carrinho sem criar pedido: mesmo cálculo da criação
+ * ({@link PrecificacaoService}), sem baixa de estoque e sem gravar nada.
+ * O estoque não é verificado (ele muda a todo momento e é conferido na criação);
+ * os brindes listados são os que a campanha concede, sujeitos a disponibilidade.
+ * Acertos no cache não abrem transação (nem pegam conexão do pool); só o cálculo
+ * de uma cotação nova roda numa transação somente leitura.
+ */
+@Service
+@RequiredArgsConstructor
+public class CotacaoService {
+
+    private final ProdutoRepository produtoRepository;
+    private final PrecificacaoService precificacaoService;
+    private final CampanhaCache campanhaCache;
+    private final CondicoesRegionaisCache condicoesRegionaisCache;
+    private final CotacaoCache cotacaoCache;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate somenteLeitura;
+
+    @PostConstruct
+    void iniciar() {
+        somenteLeitura = new TransactionTemplate(transactionManager);
+        somenteLeitura.setReadOnly(true);
+    }
+
+    public CotacaoResponseDTO cotar(CotacaoRequestDTO dto) {
+
+        // Carrinho normalizado: uma linha por produto, em ordem de id
+        Map<UUID, Integer> carrinho = new TreeMap<>();
+        for (PedidoItemRequestDTO item : dto.itens()) {
+            carrinho.merge(item.produtoId(), item.quantidade(), Integer::sum);
+        }
+
+        // As versões são lidas antes dos dados: um resultado calculado com dados
+        // mais novos que a chave nunca é servido para uma versão mais nova
+        String estado = cotacaoCache.estado(dto.lojaId());
+        CotacaoCache.Chave chave = new CotacaoCache.Chave(
+                estado,
+                dto.fornecedorId(),
+                carrinho.entrySet().stream().map(e -> Map.entry(e.getKey(), e.getValue())).toList(),
+                campanhaCache.regras(dto.fornecedorId()).getVersao(),
+                condicoesRegionaisCache.getVersao(),
+                cotacaoCache.getVersaoPrecos(),
+                LocalDate.now().toEpochDay());
+
+        CotacaoCache.Cotacao cotacao = cotacaoCache.buscar(chave);
+        if (cotacao == null) {
+            cotacao = somenteLeitura.execute(status -> calcular(dto, estado, carrinho));
+            cotacaoCache.guardar(chave, cotacao);
+        }
+        return cotacao.paraLoja(dto.lojaId(), dto.fornecedorId());
+    }
+
+    private CotacaoCache.Cotacao calcular(CotacaoRequestDTO dto, String estado, Map<UUID, Integer> carrinho) {
+        List<PedidoItemRequestDTO> itens = carrinho.entrySet().stream()
+                .map(e -> new PedidoItemRequestDTO(e.getKey(), e.getValue()))
+                .toList();
+
+        Map<UUID, Produto> produtos = produtoRepository
+                .findAllById(precificacaoService.produtosNecessarios(dto.fornecedorId(), itens))
+                .stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        PrecificacaoService.Precificacao precificacao = precificacaoService.calcular(
+                dto.fornecedorId(), estado, itens, produtos, false);
+
+        return new CotacaoCache.Cotacao(
+                estado,
+                precificacao.itens().stream().map(CotacaoService::toItemDTO).toList(),
+                precificacao.brindes().stream().map(CotacaoService::toItemDTO).toList(),
+                precificacao.valorTotal(),
+                precificacao.cashbackGerado());
+    }
+
+    private static CotacaoItemDTO toItemDTO(PedidoPreparado.Item item) {
+        return new CotacaoItemDTO(
+                item.produto().getId(),
+                item.produto().getNome(),
+                item.quantidade(),
+                item.precoUnitario(),
+                item.ajusteUnitario(),
+                item.precoUnitario().multiply(BigDecimal.valueOf(item.quantidade())));
+    }
+}
@@ -0,0 +1,103 @@
+package trabalho.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import trabalho.cache.Centavos;
+import trabalho.dto.DashboardAdminDTO;
+import trabalho.dto.DashboardFornecedorDTO;
+import trabalho.dto.DashboardLojaDTO;
+import trabalho.enums.EscopoTotal;
+import trabalho.enums.StatusPedido;
+import trabalho.repository.CampanhaRepository;
+import trabalho.repository.FornecedorRepository;
+import trabalho.repository.LojaRepository;
+import trabalho.repository.PedidoRepository;
+import trabalho.repository.TotalPorStatus;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Indicadores dos painéis. Os totais de pedidos vêm dos contadores mantidos a cada
+ * criação/mudança de status (ContadoresPedidoService), sem varrer a tabela de pedidos;
+ * os últimos registros vêm de consultas com LIMIT sobre índices.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private static final int QUANTIDADE_RECENTES = 5;
+
+    // Pedidos cancelados não entram no valor gasto pela loja nem no cashback
+    private static final Set<StatusPedido> NAO_CANCELADOS = EnumSet.complementOf(EnumSet.of(StatusPedido.CANCELADO));
+
+    private final PedidoRepository pedidoRepository;
+    private final CampanhaRepository campanhaRepository;
+    private final LojaRepository lojaRepository;
+    private final FornecedorRepository fornecedorRepository;
+    private final ContadoresPedidoService contadoresPedidoService;
+
+    @Transactional(readOnly = true)
+    public DashboardFornecedorDTO fornecedor(UUID fornecedorId) {
+        if (!fornecedorRepository.existsById(fornecedorId)) {
+            throw new RuntimeException("Fornecedor não encontrado.");
+        }
+        List<TotalPorStatus> totais = contadoresPedidoService.totais(EscopoTotal.FORNECEDOR, fornecedorId);
+
+        return new DashboardFornecedorDTO(
+                quantidade(totais, null),
+                Centavos.paraReais(valor(totais, null)),
+                quantidade(totais, Set.of(StatusPedido.ENVIADO, StatusPedido.ENTREGUE)),
+                campanhaRepository.countByFornecedor_IdAndAtivoTrue(fornecedorId),
+                Centavos.paraReais(cashback(totais, NAO_CANCELADOS)),
+                pedidoRepository.recentesDoFornecedor(fornecedorId, Limit.of(QUANTIDADE_RECENTES)));
+    }
+
+    @Transactional(readOnly = true)
+    public DashboardLojaDTO loja(UUID lojaId) {
+        if (!lojaRepository.existsById(lojaId)) {
+            throw new RuntimeException("Loja não encontrada.");
+        }
+        List<TotalPorStatus> totais = contadoresPedidoService.totais(EscopoTotal.LOJA, lojaId);
+
+        return new DashboardLojaDTO(
+                quantidade(totais, null),
+                Centavos.paraReais(valor(totais, NAO_CANCELADOS)),
+                quantidade(totais, Set.of(StatusPedido.PENDENTE)),
+                Centavos.paraReais(cashback(totais, NAO_CANCELADOS)),
+                pedidoRepository.recentesDaLoja(lojaId, Limit.of(QUANTIDADE_RECENTES)));
+    }
+
+    @Transactional(readOnly = true)
+    public DashboardAdminDTO admin() {
+        return new DashboardAdminDTO(
+                lojaRepository.count(),
+                fornecedorRepository.count(),
+                quantidade(contadoresPedidoService.totaisGerais(EscopoTotal.FORNECEDOR), null),
+                campanhaRepository.countByAtivoTrue(),
+                lojaRepository.buscarRecentes(Limit.of(QUANTIDADE_RECENTES)),
+                fornecedorRepository.buscarRecentes(Limit.of(QUANTIDADE_RECENTES)));
+    }
+
+    // statuses nulo = todos
+    private static long quantidade(List<TotalPorStatus> totais, Set<StatusPedido> statuses) {
+        return filtrar(totais, statuses).mapToLong(TotalPorStatus::quantidade).sum();
+    }
+
+    private static long valor(List<TotalPorStatus> totais, Set<StatusPedido> statuses) {
+        return filtrar(totais, statuses).mapToLong(TotalPorStatus::valorCentavos).sum();
+    }
+
+    private static long cashback(List<TotalPorStatus> totais, Set<StatusPedido> statuses) {
+        return filtrar(totais, statuses).mapToLong(TotalPorStatus::cashbackCentavos).sum();
+    }
+
+    private static Stream<TotalPorStatus> filtrar(List<TotalPorStatus> totais, Set<StatusPedido> statuses) {
+        return totais.stream().filter(t -> statuses == null || statuses.contains(t.status()));
+    }
+}
@@ -0,0 +1,68 @@
+package trabalho.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import trabalho.entities.Pedido;
+import trabalho.mapper.PedidoMapper;
+import trabalho.repository.PedidoRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de todos os pedidos em NDJSON (um PedidoResponseDTO por linha).
+ * Os pedidos vêm de um cursor do banco e são processados em blocos: os itens do bloco são
+ * carregados com uma consulta, as linhas são escritas e a sessão é limpa antes do próximo.
+ * O consumo de memória depende só do tamanho do bloco, não da quantidade de pedidos.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportacaoPedidoService {
+
+    private final PedidoRepository pedidoRepository;
+    private final PedidoMapper pedidoMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Value("${pedidos.exportacao.tamanho-bloco:500}")
+    private int tamanhoBloco;
+
+    @Transactional(readOnly = true)
+    public void exportar(OutputStream saida) throws IOException {
+        List<Pedido> bloco = new ArrayList<>(tamanhoBloco);
+        try (Stream<Pedido> pedidos = pedidoRepository.streamTodos()) {
+            Iterator<Pedido> iterador = pedidos.iterator();
+            while (iterador.hasNext()) {
+                bloco.add(iterador.next());
+                if (bloco.size() >= tamanhoBloco) {
+                    escreverBloco(bloco, saida);
+                    bloco.clear();
+                }
+            }
+            if (!bloco.isEmpty()) {
+                escreverBloco(bloco, saida);
+            }
+        }
+    }
+
+    private void escreverBloco(List<Pedido> bloco, OutputStream saida) throws IOException {
+        pedidoRepository.carregarItens(bloco.stream().map(Pedido::getId).toList());
+
+        for (Pedido pedido : bloco) {
+            saida.write(objectMapper.writeValueAsBytes(pedidoMapper.toResponseDTO(pedido)));
+            saida.write('\n');
+        }
+        saida.flush();
+
+        // Descarta as entidades do bloco; o cursor continua aberto
+        entityManager.clear();
+    }
+}
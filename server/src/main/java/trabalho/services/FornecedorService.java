@@ -1,31 +1,59 @@
 package trabalho.services;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import trabalho.cache.AposCommit;
+import trabalho.cache.CondicoesRegionaisCache;
+import trabalho.cache.IndiceCategoriasFornecedor;
+import trabalho.cache.IndiceProdutos;
+import trabalho.cache.LeiturasCompartilhadas;
+import trabalho.cache.VersoesCatalogo;
 import trabalho.dto.FornecedorRequestDTO;
 import trabalho.dto.FornecedorResponseDTO;
+import trabalho.dto.Pagina;
+import trabalho.entities.Categoria;
+import trabalho.entities.CondicoesEstado;
+import trabalho.entities.CondicoesPagamento;
 import trabalho.entities.Fornecedor;
 import trabalho.entities.Usuario;
 import trabalho.enums.TipoUsuario;
 import trabalho.mapper.FornecedorMapper;
+import trabalho.repository.CategoriaRepository;
 import trabalho.repository.FornecedorRepository;
+import trabalho.repository.NomeCategoria;
 import trabalho.repository.UsuarioRepository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class FornecedorService {
 
+    private static final int BLOCO_IDS = 500;
+
     private final FornecedorRepository fornecedorRepository;
     private final FornecedorMapper fornecedorMapper;
+    private final CategoriaRepository categoriaRepository;
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CondicoesRegionaisCache condicoesRegionaisCache;
+    private final IndiceProdutos indiceProdutos;
+    private final IndiceCategoriasFornecedor indiceCategoriasFornecedor;
+    private final VersoesCatalogo versoesCatalogo;
+    private final EntityManagerFactory entityManagerFactory;
+    private final LeiturasCompartilhadas leiturasCompartilhadas;
 
     @Transactional
     public FornecedorResponseDTO criarFornecedor(FornecedorRequestDTO dto) {
@@ -49,30 +77,54 @@ public class FornecedorService {
         novoUsuario.setSenhaHash(passwordEncoder.encode(senhaRaw));
 
         usuarioRepository.save(novoUsuario);
+        leiturasCompartilhadas.invalidar(LeiturasCompartilhadas.FORNECEDORES);
 
         return fornecedorMapper.toResponseDTO(salvo);
     }
 
     @Transactional(readOnly = true)
-    public List<FornecedorResponseDTO> listarFornecedores() {
-        return fornecedorRepository.findAll().stream()
-                .map(fornecedorMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public Pagina<FornecedorResponseDTO> listarFornecedores(Boolean ativo, UUID after, Integer limit) {
+        Pagina<Fornecedor> pagina = Paginacao.buscar(fornecedorRepository, Paginacao.igual("ativo", ativo),
+                after, limit, Fornecedor::getId, Function.identity());
+        return new Pagina<>(paraResposta(pagina.itens()), pagina.proximoCursor());
     }
 
     @Transactional(readOnly = true)
-    public List<FornecedorResponseDTO> listarAtivos() {
-        return fornecedorRepository.findByAtivoTrue().stream()
-                .map(fornecedorMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public Pagina<FornecedorResponseDTO> listarAtivos(UUID after, Integer limit) {
+        return listarFornecedores(true, after, limit);
     }
 
     @Transactional(readOnly = true)
     public List<FornecedorResponseDTO> buscarPorCategoria(String nomeCategoria) {
-        return fornecedorRepository.findByCategorias_NomeContainingIgnoreCase(nomeCategoria)
-                .stream()
-                .map(fornecedorMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        // Índice em memória: fornecedores sem repetição, do mais relevante para o menos
+        List<UUID> ids = indiceCategoriasFornecedor.buscarFornecedores(nomeCategoria);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Fornecedor> porId = fornecedorRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Fornecedor::getId, Function.identity()));
+        return paraResposta(ids.stream().map(porId::get).filter(Objects::nonNull).toList());
+    }
+
+    // Uma consulta para os nomes das categorias de todos os fornecedores da lista,
+    // em vez de inicializar Fornecedor.categorias de cada um
+    private List<FornecedorResponseDTO> paraResposta(List<Fornecedor> fornecedores) {
+        if (fornecedores.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = fornecedores.stream().map(Fornecedor::getId).distinct().toList();
+        // Em blocos: a lista do IN (e o plano da consulta) não cresce com a página
+        Map<UUID, List<String>> nomesPorFornecedor = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += BLOCO_IDS) {
+            for (NomeCategoria c : categoriaRepository.buscarNomesPorFornecedores(
+                    ids.subList(i, Math.min(i + BLOCO_IDS, ids.size())))) {
+                nomesPorFornecedor.computeIfAbsent(c.fornecedorId(), id -> new ArrayList<>()).add(c.nome());
+            }
+        }
+
+        return fornecedores.stream()
+                .map(f -> fornecedorMapper.toResponseDTO(f, nomesPorFornecedor.get(f.getId())))
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -108,6 +160,12 @@ public class FornecedorService {
         }
 
         Fornecedor atualizado = fornecedorRepository.save(fornecedor);
+        // fornecedorNome aparece nas condições regionais
+        condicoesRegionaisCache.invalidar();
+        // nomeFornecedor aparece nos produtos e categorias do catálogo
+        versoesCatalogo.alterado(id);
+        // fornecedorNome também aparece na listagem de categorias
+        leiturasCompartilhadas.invalidar(LeiturasCompartilhadas.FORNECEDORES, LeiturasCompartilhadas.CATEGORIAS);
         return fornecedorMapper.toResponseDTO(atualizado);
     }
 
@@ -117,5 +175,19 @@ public class FornecedorService {
             throw new RuntimeException("Fornecedor não encontrado.");
         }
         fornecedorRepository.deleteById(id);
+        condicoesRegionaisCache.invalidar();
+        indiceProdutos.removerFornecedor(id);
+        indiceCategoriasFornecedor.removerFornecedor(id);
+        versoesCatalogo.alterado(id);
+        leiturasCompartilhadas.invalidar(LeiturasCompartilhadas.FORNECEDORES, LeiturasCompartilhadas.CATEGORIAS);
+        // Categorias e condições saem por ON DELETE CASCADE no banco, sem passar pelo Hibernate:
+        // nem as entidades nem os resultados de consulta em cache ficam sabendo
+        AposCommit.executar(() -> {
+            Cache cache = entityManagerFactory.getCache();
+            cache.evict(Categoria.class);
+            cache.evict(CondicoesPagamento.class);
+            cache.evict(CondicoesEstado.class);
+            cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+        });
     }
 }
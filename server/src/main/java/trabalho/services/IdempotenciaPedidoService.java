@@ -0,0 +1,212 @@
+package trabalho.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import trabalho.dto.PedidoRequestDTO;
+import trabalho.dto.PedidoResponseDTO;
+import trabalho.repository.PedidoIdempotenciaRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Suporte ao header Idempotency-Key em POST /api/v1/pedidos.
+ * As respostas ficam numa tabela (sobrevivem a reinícios) e as mais recentes também
+ * num mapa em memória limitado. Requisições repetidas recebem a resposta guardada sem
+ * reprecificar nem mexer no estoque; repetições simultâneas esperam a primeira execução.
+ * O pedido e a chave são gravados na mesma transação: ou os dois existem, ou nenhum.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotenciaPedidoService {
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final PedidoIdempotenciaRepository pedidoIdempotenciaRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${pedidos.idempotencia.validade-horas:24}")
+    private long validadeHoras;
+
+    @Value("${pedidos.idempotencia.maximo-em-memoria:10000}")
+    private int maximoEmMemoria;
+
+    private final Map<String, CompletableFuture<Registro>> emAndamento = new ConcurrentHashMap<>();
+
+    // LRU limitado; acesso sempre sob synchronized
+    private final LinkedHashMap<String, Registro> recentes = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Registro> eldest) {
+            return size() > maximoEmMemoria;
+        }
+    };
+
+    public PedidoResponseDTO executar(String chave, PedidoRequestDTO dto, Supplier<PedidoResponseDTO> criacao) {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new RuntimeException("Idempotency-Key inválida (deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres).");
+        }
+        String hash = hash(dto);
+
+        Registro registro = buscarRecente(chave);
+        if (registro != null) {
+            return registro.resposta(hash);
+        }
+
+        CompletableFuture<Registro> execucao = new CompletableFuture<>();
+        CompletableFuture<Registro> existente = emAndamento.putIfAbsent(chave, execucao);
+        if (existente != null) {
+            // Outra requisição com a mesma chave está em andamento: espera o resultado dela
+            return aguardar(existente).resposta(hash);
+        }
+
+        try {
+            registro = buscarGravado(chave);
+            if (registro == null) {
+                registro = criarEGravar(chave, hash, criacao);
+            }
+            guardarRecente(chave, registro);
+            execucao.complete(registro);
+            return registro.resposta(hash);
+        } catch (RuntimeException e) {
+            // Falhas não são guardadas: uma nova tentativa com a mesma chave executa de novo
+            execucao.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, execucao);
+        }
+    }
+
+    // -----------------------------------------
+    // Limpeza periódica das chaves expiradas
+    // -----------------------------------------
+    @Scheduled(fixedDelayString = "${pedidos.idempotencia.limpeza-ms:3600000}")
+    @Transactional
+    public void removerExpiradas() {
+        OffsetDateTime agora = OffsetDateTime.now();
+        pedidoIdempotenciaRepository.removerExpiradas(agora);
+        synchronized (recentes) {
+            recentes.values().removeIf(r -> r.expirado(agora));
+        }
+    }
+
+    private Registro buscarRecente(String chave) {
+        synchronized (recentes) {
+            Registro registro = recentes.get(chave);
+            if (registro != null && registro.expirado(OffsetDateTime.now())) {
+                recentes.remove(chave);
+                return null;
+            }
+            return registro;
+        }
+    }
+
+    private void guardarRecente(String chave, Registro registro) {
+        synchronized (recentes) {
+            recentes.put(chave, registro);
+        }
+    }
+
+    private Registro buscarGravado(String chave) {
+        return pedidoIdempotenciaRepository.findById(chave)
+                .filter(i -> i.getExpiraEm().isAfter(OffsetDateTime.now()))
+                .map(i -> new Registro(i.getHashRequisicao(), desserializar(i.getResposta()), i.getExpiraEm()))
+                .orElse(null);
+    }
+
+    // A criação participa desta transação (propagação REQUIRED), então o pedido só é
+    // confirmado junto com a linha da chave. Se outra instância gravou a mesma chave
+    // antes, o pedido criado aqui é desfeito e vale a resposta já gravada.
+    private Registro criarEGravar(String chave, String hash, Supplier<PedidoResponseDTO> criacao) {
+        Registro registro = transactionTemplate.execute(status -> {
+            Registro novo = gravar(chave, hash, criacao.get());
+            if (novo == null) {
+                status.setRollbackOnly();
+            }
+            return novo;
+        });
+        if (registro != null) {
+            return registro;
+        }
+        registro = buscarGravado(chave);
+        if (registro == null) {
+            throw new RuntimeException("Não foi possível registrar a Idempotency-Key. Tente novamente.");
+        }
+        return registro;
+    }
+
+    private Registro gravar(String chave, String hash, PedidoResponseDTO resposta) {
+        OffsetDateTime agora = OffsetDateTime.now();
+        OffsetDateTime expiraEm = agora.plus(Duration.ofHours(validadeHoras));
+
+        int gravadas = pedidoIdempotenciaRepository.inserirSeLivre(
+                chave, hash, resposta.id(), serializar(resposta), agora, expiraEm);
+        return gravadas == 1 ? new Registro(hash, resposta, expiraEm) : null;
+    }
+
+    private Registro aguardar(CompletableFuture<Registro> execucao) {
+        try {
+            return execucao.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private String hash(PedidoRequestDTO dto) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(serializar(dto).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String serializar(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private PedidoResponseDTO desserializar(String json) {
+        try {
+            return objectMapper.readValue(json, PedidoResponseDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Registro(String hashRequisicao, PedidoResponseDTO resposta, OffsetDateTime expiraEm) {
+
+        boolean expirado(OffsetDateTime agora) {
+            return !expiraEm.isAfter(agora);
+        }
+
+        PedidoResponseDTO resposta(String hashAtual) {
+            if (!hashRequisicao.equals(hashAtual)) {
+                throw new RuntimeException("Esta Idempotency-Key já foi usada para um pedido diferente.");
+            }
+            return resposta;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package trabalho.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import trabalho.dto.ImportacaoPedidoResultadoDTO;
+import trabalho.dto.PedidoItemRequestDTO;
+import trabalho.dto.PedidoRequestDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de pedidos (NDJSON ou CSV).
+ * A entrada é lida linha a linha e processada em lotes de tamanho fixo: cada lote resolve
+ * lojas, fornecedores e produtos com uma consulta por tipo, grava os pedidos em uma transação
+ * (INSERTs em lote JDBC) e escreve uma linha de resultado por pedido antes de ler o próximo.
+ * O consumo de memória depende só do tamanho do lote, não do tamanho do arquivo.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImportacaoPedidoService {
+
+    public enum Formato { NDJSON, CSV }
+
+    // Teto de uma linha NDJSON: cabeçalho do pedido mais maximoItensPedido itens com folga
+    // para espaços ({"produtoId":"<uuid>","quantidade":n} tem uns 70 caracteres)
+    private static final int CARACTERES_POR_LINHA = 4096;
+    private static final int CARACTERES_POR_ITEM = 256;
+
+    private final PedidoService pedidoService;
+    private final PedidoLoteService pedidoLoteService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${pedidos.importacao.tamanho-lote:200}")
+    private int tamanhoLote;
+
+    @Value("${pedidos.importacao.maximo-itens-pedido:1000}")
+    private int maximoItensPedido;
+
+    public void importar(InputStream entrada, Formato formato, OutputStream saida) throws IOException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        Leitura leitura = formato == Formato.NDJSON
+                ? new LeituraNdjson(leitor, CARACTERES_POR_LINHA + maximoItensPedido * CARACTERES_POR_ITEM)
+                : new LeituraCsv(leitor, maximoItensPedido);
+
+        List<Linha> lote = new ArrayList<>(tamanhoLote);
+        Linha linha;
+        while ((linha = leitura.proxima()) != null) {
+            lote.add(linha);
+            if (lote.size() >= tamanhoLote) {
+                processarLote(lote, saida);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            processarLote(lote, saida);
+        }
+    }
+
+    private void processarLote(List<Linha> lote, OutputStream saida) throws IOException {
+        List<ImportacaoPedidoResultadoDTO> resultados = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            resultados.add(null);
+        }
+
+        // 1. Validação de formato e Bean Validation (sem banco)
+        List<Integer> posicoesValidas = new ArrayList<>();
+        List<PedidoRequestDTO> validos = new ArrayList<>();
+        for (int i = 0; i < lote.size(); i++) {
+            Linha linha = lote.get(i);
+            String erro = linha.erro() != null ? linha.erro() : validar(linha.pedido());
+            if (erro != null) {
+                resultados.set(i, falha(linha.referencia(), erro));
+            } else {
+                posicoesValidas.add(i);
+                validos.add(linha.pedido());
+            }
+        }
+
+        // 2. Precificação com consultas em lote
+        List<PedidoService.Preparacao> preparacoes = validos.isEmpty() ? List.of() : pedidoService.prepararLote(validos);
+
+        List<Integer> posicoesPreparadas = new ArrayList<>();
+        List<PedidoPreparado> preparados = new ArrayList<>();
+        for (int j = 0; j < preparacoes.size(); j++) {
+            int posicao = posicoesValidas.get(j);
+            PedidoService.Preparacao p = preparacoes.get(j);
+            if (p.erro() != null) {
+                resultados.set(posicao, falha(lote.get(posicao).referencia(), p.erro().getMessage()));
+            } else {
+                posicoesPreparadas.add(posicao);
+                preparados.add(p.preparado());
+            }
+        }
+
+        // 3. Gravação do lote em uma transação (com isolamento de falhas)
+        List<PedidoLoteService.Resultado> gravados = preparados.isEmpty() ? List.of() : pedidoLoteService.efetivar(preparados);
+        for (int k = 0; k < gravados.size(); k++) {
+            int posicao = posicoesPreparadas.get(k);
+            PedidoLoteService.Resultado r = gravados.get(k);
+            String referencia = lote.get(posicao).referencia();
+            resultados.set(posicao, r.erro() != null
+                    ? falha(referencia, r.erro().getMessage())
+                    : new ImportacaoPedidoResultadoDTO(referencia, true, r.pedido().id(), r.pedido().valorTotal(), null));
+        }
+
+        for (ImportacaoPedidoResultadoDTO resultado : resultados) {
+            saida.write(objectMapper.writeValueAsBytes(resultado));
+            saida.write('\n');
+        }
+        saida.flush();
+    }
+
+    private String validar(PedidoRequestDTO dto) {
+        if (dto.itens() != null && dto.itens().size() > maximoItensPedido) {
+            return "Pedido com " + dto.itens().size() + " itens excede o máximo de " + maximoItensPedido + " por pedido.";
+        }
+        Set<ConstraintViolation<PedidoRequestDTO>> violacoes = validator.validate(dto);
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+        return violacoes.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    private static ImportacaoPedidoResultadoDTO falha(String referencia, String erro) {
+        return new ImportacaoPedidoResultadoDTO(referencia, false, null, null, erro);
+    }
+
+    // -----------------------------------------
+    // Leitores incrementais
+    // -----------------------------------------
+
+    // Pedido lido da entrada, ou o erro de leitura daquela linha
+    private record Linha(String referencia, PedidoRequestDTO pedido, String erro) {}
+
+    private interface Leitura {
+        Linha proxima() throws IOException;
+    }
+
+    /**
+     * Um PedidoRequestDTO em JSON por linha. O campo opcional "referencia"
+     * é devolvido no resultado; sem ele, usa-se o número da linha.
+     * Uma linha maior que o limite (proporcional ao máximo de itens por pedido) não é
+     * guardada: o excedente é lido e descartado, e a linha recebe um erro no resultado.
+     */
+    private class LeituraNdjson implements Leitura {
+        private final BufferedReader leitor;
+        private final int limite;
+        private final StringBuilder texto = new StringBuilder();
+        private int numeroLinha;
+
+        LeituraNdjson(BufferedReader leitor, int limite) {
+            this.leitor = leitor;
+            this.limite = limite;
+        }
+
+        @Override
+        public Linha proxima() throws IOException {
+            int tamanho;
+            while ((tamanho = lerLinha()) >= 0) {
+                numeroLinha++;
+                if (tamanho > limite) {
+                    return new Linha(String.valueOf(numeroLinha), null,
+                            "Linha " + numeroLinha + " excede o máximo de " + limite + " caracteres ("
+                                    + maximoItensPedido + " itens por pedido).");
+                }
+                if (texto.toString().isBlank()) continue;
+
+                String referencia = String.valueOf(numeroLinha);
+                try {
+                    JsonNode json = objectMapper.readTree(texto.toString());
+                    if (json.hasNonNull("referencia")) {
+                        referencia = json.get("referencia").asText();
+                    }
+                    return new Linha(referencia, objectMapper.treeToValue(json, PedidoRequestDTO.class), null);
+                } catch (IOException e) {
+                    return new Linha(referencia, null, "JSON inválido na linha " + numeroLinha + ".");
+                }
+            }
+            return null;
+        }
+
+        // Lê a próxima linha em texto guardando no máximo `limite` caracteres.
+        // Devolve o tamanho real da linha (pode passar do limite) ou -1 no fim da entrada.
+        private int lerLinha() throws IOException {
+            texto.setLength(0);
+            int tamanho = 0;
+            int c;
+            while ((c = leitor.read()) >= 0 && c != '\n') {
+                if (++tamanho <= limite) {
+                    texto.append((char) c);
+                }
+            }
+            if (c < 0 && tamanho == 0) {
+                return -1;
+            }
+            if (tamanho <= limite && !texto.isEmpty() && texto.charAt(texto.length() - 1) == '\r') {
+                texto.setLength(texto.length() - 1);
+                tamanho--;
+            }
+            return tamanho;
+        }
+    }
+
+    /**
+     * Um item por linha: referencia;lojaId;fornecedorId;criadoPorUsuarioId;condicaoPagamentoId;produtoId;quantidade
+     * (separador ';' ou ','). Linhas consecutivas com a mesma referência formam um pedido.
+     * Um cabeçalho começando com "referencia" é ignorado.
+     * Um pedido com mais de maximoItens linhas é descartado (as linhas excedentes são
+     * lidas e ignoradas, sem ficar em memória) e recebe um erro no resultado.
+     */
+    private static class LeituraCsv implements Leitura {
+        private static final int COLUNAS = 7;
+
+        private final BufferedReader leitor;
+        private final int maximoItens;
+        private String[] pendente;
+        private int numeroLinha;
+
+        LeituraCsv(BufferedReader leitor, int maximoItens) {
+            this.leitor = leitor;
+            this.maximoItens = maximoItens;
+        }
+
+        @Override
+        public Linha proxima() throws IOException {
+            String[] primeira = pendente != null ? pendente : lerColunas();
+            pendente = null;
+            if (primeira == null) {
+                return null;
+            }
+
+            String referencia = primeira[0];
+            List<String[]> linhas = new ArrayList<>();
+            linhas.add(primeira);
+
+            int totalItens = 1;
+            String[] proxima;
+            while ((proxima = lerColunas()) != null) {
+                if (!proxima[0].equals(referencia)) {
+                    pendente = proxima;
+                    break;
+                }
+                if (++totalItens <= maximoItens) {
+                    linhas.add(proxima);
+                }
+            }
+            if (totalItens > maximoItens) {
+                return new Linha(referencia, null,
+                        "Pedido com " + totalItens + " itens excede o máximo de " + maximoItens + " por pedido.");
+            }
+
+            try {
+                for (String[] colunas : linhas) {
+                    if (colunas.length != COLUNAS) {
+                        throw new IllegalArgumentException("Esperadas " + COLUNAS + " colunas, encontradas " + colunas.length + ".");
+                    }
+                }
+                String[] cabecalho = linhas.get(0);
+                List<PedidoItemRequestDTO> itens = linhas.stream()
+                        .map(c -> new PedidoItemRequestDTO(uuid(c[5]), Integer.valueOf(c[6].trim())))
+                        .toList();
+                PedidoRequestDTO pedido = new PedidoRequestDTO(
+                        uuid(cabecalho[1]), uuid(cabecalho[2]), uuid(cabecalho[3]), uuid(cabecalho[4]), itens);
+                return new Linha(referencia, pedido, null);
+            } catch (IllegalArgumentException e) {
+                return new Linha(referencia, null, "CSV inválido: " + e.getMessage());
+            }
+        }
+
+        private String[] lerColunas() throws IOException {
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                numeroLinha++;
+                if (texto.isBlank()) continue;
+                if (numeroLinha == 1 && texto.trim().toLowerCase().startsWith("referencia")) continue;
+
+                String separador = texto.indexOf(';') >= 0 ? ";" : ",";
+                String[] colunas = texto.split(separador, -1);
+                colunas[0] = colunas[0].trim();
+                return colunas;
+            }
+            return null;
+        }
+
+        private static UUID uuid(String valor) {
+            String texto = valor.trim();
+            return texto.isEmpty() ? null : UUID.fromString(texto);
+        }
+    }
+}
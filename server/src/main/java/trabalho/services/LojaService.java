@@ -4,8 +4,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import trabalho.cache.CotacaoCache;
 import trabalho.dto.LojaRequestDTO;
 import trabalho.dto.LojaResponseDTO;
+import trabalho.dto.Pagina;
 import trabalho.entities.Loja;
 import trabalho.entities.Usuario;
 import trabalho.enums.TipoUsuario;
@@ -26,6 +28,7 @@ public class LojaService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CotacaoCache cotacaoCache;
 
     // -----------------------------------------
     // CREATE
@@ -63,10 +66,9 @@ public class LojaService {
     // READ - Listar todas
     // -----------------------------------------
     @Transactional(readOnly = true)
-    public List<LojaResponseDTO> listarLojas() {
-        return lojaRepository.findAll().stream()
-                .map(lojaMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public Pagina<LojaResponseDTO> listarLojas(Boolean ativo, UUID after, Integer limit) {
+        return Paginacao.buscar(lojaRepository, Paginacao.igual("ativo", ativo),
+                after, limit, Loja::getId, lojaMapper::toResponseDTO);
     }
 
     // -----------------------------------------
@@ -93,10 +95,8 @@ public class LojaService {
     // READ - Listar apenas lojas ativas
     // -----------------------------------------
     @Transactional(readOnly = true)
-    public List<LojaResponseDTO> listarAtivas() {
-        return lojaRepository.findByAtivoTrue().stream()
-                .map(lojaMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public Pagina<LojaResponseDTO> listarAtivas(UUID after, Integer limit) {
+        return listarLojas(true, after, limit);
     }
 
     // -----------------------------------------
@@ -128,6 +128,7 @@ public class LojaService {
         }
 
         Loja atualizada = lojaRepository.save(loja);
+        cotacaoCache.invalidarLoja(id);
         return lojaMapper.toResponseDTO(atualizada);
     }
 
@@ -142,5 +143,6 @@ public class LojaService {
         }
 
         lojaRepository.deleteById(id);
+        cotacaoCache.invalidarLoja(id);
     }
 }
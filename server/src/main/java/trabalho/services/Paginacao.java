@@ -0,0 +1,93 @@
+package trabalho.services;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.query.FluentQuery;
+import trabalho.dto.Pagina;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Paginação por chave (keyset) das listagens: ordem estável por id e
+ * "WHERE id > :after ORDER BY id LIMIT n", que usa o índice da PK (ou o índice
+ * composto do filtro) e custa o mesmo em qualquer página, sem OFFSET nem COUNT.
+ * Sem limit vale LIMITE_PADRAO: nenhuma listagem devolve a tabela inteira de uma vez;
+ * quem precisa de tudo segue o cursor (header X-Proximo-Cursor) até ele não vir mais.
+ * O parâmetro grafo lista associações carregadas na mesma consulta (entity graph),
+ * evitando uma consulta por linha quando o mapper navega por elas.
+ */
+public final class Paginacao {
+
+    public static final int LIMITE_PADRAO = 100;
+    public static final int LIMITE_MAXIMO = 1000;
+
+    private static final Sort POR_ID = Sort.by("id");
+
+    private Paginacao() {
+    }
+
+    public static <E, D> Pagina<D> buscar(JpaSpecificationExecutor<E> repositorio, Specification<E> filtro,
+                                          UUID after, Integer limit,
+                                          Function<E, UUID> id, Function<E, D> mapper, String... grafo) {
+        int tamanho = limit == null ? LIMITE_PADRAO : limit;
+        if (tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new RuntimeException("O parâmetro limit deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+
+        Specification<E> consulta = todos(filtro, after == null ? null
+                : (root, query, cb) -> cb.greaterThan(root.<UUID>get("id"), after));
+
+        // Busca um a mais só para saber se existe próxima página
+        List<E> linhas = repositorio.findBy(consulta, q -> comGrafo(q.sortBy(POR_ID), grafo).limit(tamanho + 1).all());
+        boolean temMais = linhas.size() > tamanho;
+        List<E> pagina = temMais ? linhas.subList(0, tamanho) : linhas;
+
+        String proximoCursor = temMais ? id.apply(pagina.get(pagina.size() - 1)).toString() : null;
+        return new Pagina<>(pagina.stream().map(mapper).toList(), proximoCursor);
+    }
+
+    // Só associações para-um: coleções no grafo fariam o Hibernate paginar em memória
+    private static <T> FluentQuery.FetchableFluentQuery<T> comGrafo(FluentQuery.FetchableFluentQuery<T> consulta, String[] grafo) {
+        return grafo.length == 0 ? consulta : consulta.project(grafo);
+    }
+
+    // -----------------------------------------
+    // Filtros opcionais (valor nulo = sem filtro)
+    // -----------------------------------------
+
+    // atributo pode navegar por associações, ex.: "fornecedor.id" (usa a FK, sem JOIN)
+    public static <E> Specification<E> igual(String atributo, Object valor) {
+        if (valor == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<?> caminho = root;
+            for (String parte : atributo.split("\\.")) {
+                caminho = caminho.get(parte);
+            }
+            return cb.equal(caminho, valor);
+        };
+    }
+
+    @SafeVarargs
+    public static <E> Specification<E> todos(Specification<E>... filtros) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            for (Specification<E> filtro : filtros) {
+                if (filtro != null) {
+                    Predicate p = filtro.toPredicate(root, query, cb);
+                    if (p != null) {
+                        predicados.add(p);
+                    }
+                }
+            }
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+}
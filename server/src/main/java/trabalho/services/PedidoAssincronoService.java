@@ -0,0 +1,295 @@
+package trabalho.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import trabalho.dto.PedidoFilaResponseDTO;
+import trabalho.dto.PedidoRequestDTO;
+import trabalho.dto.PedidoResponseDTO;
+import trabalho.entities.PedidoFila;
+import trabalho.enums.StatusFilaPedido;
+import trabalho.repository.PedidoFilaRepository;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submissão assíncrona de pedidos.
+ * A requisição só grava o pedido na tabela pedidos_fila e recebe 202 com o ticket;
+ * a precificação e a baixa de estoque ({@link PedidoService#criarPedido}) rodam em
+ * workers (threads virtuais), no máximo {@code workers} ao mesmo tempo para não
+ * esgotar o pool de conexões. O resultado é consultado pelo ticket ou via SSE.
+ * <p>
+ * Cada worker assume o ticket com um UPDATE condicional (PENDENTE -> PROCESSANDO) e
+ * grava o pedido e o status CONCLUIDO na mesma transação, conferindo o número da
+ * tentativa: se o ticket foi reaberto e assumido por outro worker, a transação é
+ * desfeita e o pedido nunca é criado em dobro. Deadlock ou falha de lock devolve o
+ * ticket à fila na hora, até {@code maximo-tentativas} vezes.
+ */
+@Service
+@RequiredArgsConstructor
+public class PedidoAssincronoService {
+
+    private static final int TAMANHO_VARREDURA = 100;
+
+    private final PedidoFilaRepository pedidoFilaRepository;
+    private final PedidoService pedidoService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${pedidos.assincrono.workers:8}")
+    private int workers;
+
+    @Value("${pedidos.assincrono.varredura-ms:5000}")
+    private long varreduraMs;
+
+    @Value("${pedidos.assincrono.travado-ms:300000}")
+    private long travadoMs;
+
+    @Value("${pedidos.assincrono.maximo-tentativas:5}")
+    private int maximoTentativas;
+
+    @Value("${pedidos.assincrono.retencao-horas:24}")
+    private long retencaoHoras;
+
+    @Value("${pedidos.assincrono.sse-timeout-ms:60000}")
+    private long sseTimeoutMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<UUID, List<SseEmitter>> assinantes = new ConcurrentHashMap<>();
+    private Semaphore vagas;
+    private volatile boolean encerrando;
+
+    @PostConstruct
+    void iniciar() {
+        vagas = new Semaphore(Math.max(1, workers));
+    }
+
+    // -----------------------------------------
+    // Submissão e consulta
+    // -----------------------------------------
+    public PedidoFilaResponseDTO enfileirar(PedidoRequestDTO dto) {
+        OffsetDateTime agora = OffsetDateTime.now();
+
+        PedidoFila fila = new PedidoFila();
+        fila.setPayload(serializar(dto));
+        fila.setStatus(StatusFilaPedido.PENDENTE);
+        fila.setCriadoEm(agora);
+        fila.setAtualizadoEm(agora);
+        fila = pedidoFilaRepository.save(fila);
+
+        despachar(fila.getId());
+        return toResponseDTO(fila);
+    }
+
+    public PedidoFilaResponseDTO consultar(UUID ticket) {
+        return pedidoFilaRepository.findById(ticket)
+                .map(this::toResponseDTO)
+                .orElseThrow(() -> new RuntimeException("Ticket não encontrado."));
+    }
+
+    /**
+     * Envia o status atual e, se o ticket ainda não terminou, mais um evento quando
+     * terminar (neste servidor). Se a conexão cair, o cliente volta a consultar pelo ticket.
+     */
+    public SseEmitter assinar(UUID ticket) {
+        PedidoFilaResponseDTO atual = consultar(ticket);
+
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        List<SseEmitter> lista = assinantes.computeIfAbsent(ticket, t -> new CopyOnWriteArrayList<>());
+        lista.add(emitter);
+        Runnable remover = () -> assinantes.computeIfPresent(ticket, (t, l) -> {
+            l.remove(emitter);
+            return l.isEmpty() ? null : l;
+        });
+        emitter.onCompletion(remover);
+        emitter.onTimeout(remover);
+        emitter.onError(e -> remover.run());
+
+        // Relê depois de registrar: o ticket pode ter terminado entre a consulta e o registro
+        if (!finalizado(atual.status())) {
+            atual = consultar(ticket);
+        }
+        enviar(emitter, atual);
+        return emitter;
+    }
+
+    // -----------------------------------------
+    // Workers
+    // -----------------------------------------
+    private void despachar(UUID ticket) {
+        try {
+            executor.execute(() -> processar(ticket));
+        } catch (RejectedExecutionException e) {
+            // Em desligamento: o ticket continua PENDENTE e é retomado na próxima inicialização
+        }
+    }
+
+    private void processar(UUID ticket) {
+        try {
+            vagas.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            if (encerrando) {
+                return;
+            }
+
+            PedidoFila assumido = transactionTemplate.execute(status ->
+                    pedidoFilaRepository.assumir(ticket, OffsetDateTime.now()) == 0
+                            ? null
+                            : pedidoFilaRepository.findById(ticket).orElse(null));
+            if (assumido == null) {
+                return; // outro worker já pegou (ou o ticket já terminou)
+            }
+
+            int tentativa = assumido.getTentativas();
+            try {
+                PedidoRequestDTO dto = objectMapper.readValue(assumido.getPayload(), PedidoRequestDTO.class);
+                transactionTemplate.executeWithoutResult(status -> {
+                    PedidoResponseDTO pedido = pedidoService.criarPedido(dto);
+                    if (pedidoFilaRepository.finalizar(ticket, tentativa, StatusFilaPedido.CONCLUIDO,
+                            pedido.id(), null, OffsetDateTime.now()) == 0) {
+                        throw new IllegalStateException("Ticket " + ticket + " foi reassumido por outro worker.");
+                    }
+                });
+            } catch (CannotCreateTransactionException e) {
+                // Banco inacessível: o ticket fica PROCESSANDO e a varredura o devolve à fila
+                return;
+            } catch (TransientDataAccessException e) {
+                // Deadlock ou falha de lock: a transação foi desfeita, então tenta de novo já,
+                // em vez de deixar o ticket parado até a varredura de travados
+                if (tentativa < maximoTentativas) {
+                    if (devolver(ticket, tentativa)) {
+                        despachar(ticket);
+                    }
+                    return;
+                }
+                transactionTemplate.executeWithoutResult(status ->
+                        pedidoFilaRepository.finalizar(ticket, tentativa, StatusFilaPedido.FALHOU,
+                                null, e.getMessage(), OffsetDateTime.now()));
+            } catch (RuntimeException | JsonProcessingException e) {
+                transactionTemplate.executeWithoutResult(status ->
+                        pedidoFilaRepository.finalizar(ticket, tentativa, StatusFilaPedido.FALHOU,
+                                null, e.getMessage(), OffsetDateTime.now()));
+            }
+            notificar(ticket);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    // A próxima tentativa incrementa tentativas ao assumir; se este UPDATE falhar,
+    // o ticket fica PROCESSANDO e a varredura o devolve à fila
+    private boolean devolver(UUID ticket, int tentativa) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    pedidoFilaRepository.devolver(ticket, tentativa, OffsetDateTime.now()) == 1));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    // -----------------------------------------
+    // Recuperação: tickets perdidos por reinício ou queda de worker
+    // -----------------------------------------
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarAoIniciar() {
+        // Nenhum worker deste processo está rodando ainda: tudo que está PROCESSANDO foi interrompido
+        transactionTemplate.executeWithoutResult(status -> {
+            OffsetDateTime agora = OffsetDateTime.now();
+            pedidoFilaRepository.reabrirTravados(agora, agora);
+        });
+        varrer();
+    }
+
+    @Scheduled(fixedDelayString = "${pedidos.assincrono.varredura-ms:5000}",
+            initialDelayString = "${pedidos.assincrono.varredura-ms:5000}")
+    public void varrer() {
+        OffsetDateTime agora = OffsetDateTime.now();
+        List<UUID> pendentes = transactionTemplate.execute(status -> {
+            pedidoFilaRepository.reabrirTravados(agora.minus(Duration.ofMillis(travadoMs)), agora);
+            pedidoFilaRepository.removerFinalizados(agora.minus(Duration.ofHours(retencaoHoras)));
+            // Os recém-criados já foram despachados por enfileirar()
+            return pedidoFilaRepository.buscarPendentes(agora.minus(Duration.ofMillis(varreduraMs)),
+                    PageRequest.of(0, TAMANHO_VARREDURA));
+        });
+        pendentes.forEach(this::despachar);
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        encerrando = true;
+        executor.shutdown();
+        // Os que ainda esperam vaga saem sem assumir o ticket; os em andamento terminam
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        assinantes.values().forEach(l -> l.forEach(SseEmitter::complete));
+    }
+
+    // -----------------------------------------
+    // Notificação (SSE)
+    // -----------------------------------------
+    private void notificar(UUID ticket) {
+        List<SseEmitter> lista = assinantes.remove(ticket);
+        if (lista == null || lista.isEmpty()) {
+            return;
+        }
+        PedidoFilaResponseDTO atual = consultar(ticket);
+        lista.forEach(emitter -> enviar(emitter, atual));
+    }
+
+    private void enviar(SseEmitter emitter, PedidoFilaResponseDTO status) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(status));
+            if (finalizado(status.status())) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static boolean finalizado(StatusFilaPedido status) {
+        return status == StatusFilaPedido.CONCLUIDO || status == StatusFilaPedido.FALHOU;
+    }
+
+    private PedidoFilaResponseDTO toResponseDTO(PedidoFila fila) {
+        return new PedidoFilaResponseDTO(fila.getId(), fila.getStatus(), fila.getPedidoId(),
+                fila.getErro(), fila.getCriadoEm(), fila.getAtualizadoEm());
+    }
+
+    private String serializar(PedidoRequestDTO dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
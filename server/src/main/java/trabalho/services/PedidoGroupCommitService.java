@@ -0,0 +1,157 @@
+package trabalho.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import trabalho.dto.PedidoRequestDTO;
+import trabalho.dto.PedidoResponseDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Modo opcional de "group commit" para criação de pedidos.
+ * Cada requisição é validada e precificada na própria thread; a gravação é entregue
+ * a uma única thread que junta os pedidos que chegam dentro de uma pequena janela
+ * e grava todos com um único commit (ver {@link PedidoLoteService}).
+ */
+@Service
+@RequiredArgsConstructor
+public class PedidoGroupCommitService {
+
+    private final PedidoService pedidoService;
+    private final PedidoLoteService pedidoLoteService;
+
+    @Value("${pedidos.group-commit.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${pedidos.group-commit.janela-ms:5}")
+    private long janelaMs;
+
+    @Value("${pedidos.group-commit.tamanho-maximo-lote:100}")
+    private int tamanhoMaximoLote;
+
+    @Value("${pedidos.group-commit.espera-maxima-ms:30000}")
+    private long esperaMaximaMs;
+
+    private final BlockingQueue<Solicitacao> fila = new LinkedBlockingQueue<>();
+    private volatile Thread gravador;
+
+    @PostConstruct
+    void iniciar() {
+        if (habilitado) {
+            gravador = Thread.ofPlatform()
+                    .name("pedidos-group-commit")
+                    .daemon()
+                    .start(this::executar);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        Thread t = gravador;
+        gravador = null;
+        if (t != null) {
+            t.interrupt();
+        }
+        Solicitacao pendente;
+        while ((pendente = fila.poll()) != null) {
+            recusar(pendente);
+        }
+    }
+
+    public PedidoResponseDTO criarPedido(PedidoRequestDTO dto) {
+        if (!habilitado) {
+            return pedidoService.criarPedido(dto);
+        }
+
+        PedidoPreparado preparado = pedidoService.prepararPedido(dto);
+
+        CompletableFuture<PedidoResponseDTO> resultado = new CompletableFuture<>();
+        Solicitacao solicitacao = new Solicitacao(preparado, resultado);
+        fila.add(solicitacao);
+        // Chegou depois do desligamento: se a limpeza da fila não a pegou, ninguém mais vai
+        if (gravador == null && fila.remove(solicitacao)) {
+            recusar(solicitacao);
+        }
+
+        try {
+            return resultado.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Tempo de gravação do pedido esgotado. Consulte os pedidos antes de tentar novamente.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Criação do pedido interrompida.");
+        }
+    }
+
+    private void executar() {
+        while (gravador != null) {
+            List<Solicitacao> lote = new ArrayList<>();
+            try {
+                juntarLote(lote);
+            } catch (InterruptedException e) {
+                // Os pedidos já retirados da fila não podem ficar sem resposta
+                lote.forEach(PedidoGroupCommitService::recusar);
+                return;
+            }
+            gravar(lote);
+        }
+    }
+
+    // Bloqueia até chegar o primeiro pedido e então junta os que chegarem dentro da janela
+    private void juntarLote(List<Solicitacao> lote) throws InterruptedException {
+        lote.add(fila.take());
+
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(janelaMs);
+        while (lote.size() < tamanhoMaximoLote) {
+            long restante = limite - System.nanoTime();
+            if (restante <= 0) {
+                break;
+            }
+            Solicitacao proxima = fila.poll(restante, TimeUnit.NANOSECONDS);
+            if (proxima == null) {
+                break;
+            }
+            lote.add(proxima);
+        }
+    }
+
+    private void gravar(List<Solicitacao> lote) {
+        try {
+            List<PedidoLoteService.Resultado> resultados = pedidoLoteService.efetivar(
+                    lote.stream().map(Solicitacao::preparado).toList());
+
+            for (int i = 0; i < lote.size(); i++) {
+                PedidoLoteService.Resultado r = resultados.get(i);
+                if (r.erro() != null) {
+                    lote.get(i).resultado().completeExceptionally(r.erro());
+                } else {
+                    lote.get(i).resultado().complete(r.pedido());
+                }
+            }
+        } catch (Throwable e) {
+            // Nenhuma requisição pode ficar esperando para sempre
+            lote.forEach(s -> s.resultado().completeExceptionally(e));
+        }
+    }
+
+    private static void recusar(Solicitacao solicitacao) {
+        solicitacao.resultado().completeExceptionally(new RuntimeException("Servidor em desligamento. Tente novamente."));
+    }
+
+    private record Solicitacao(PedidoPreparado preparado, CompletableFuture<PedidoResponseDTO> resultado) {}
+}
@@ -0,0 +1,53 @@
+package trabalho.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import trabalho.dto.PedidoResponseDTO;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PedidoLoteService {
+
+    private final PedidoService pedidoService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Grava vários pedidos já precificados em uma única transação (um único commit,
+     * uma única reserva de estoque e os INSERTs agrupados em lotes JDBC). Se qualquer pedido do lote falhar,
+     * o lote inteiro é desfeito e cada pedido é refeito na sua própria transação,
+     * de modo que a falha de um não afeta os demais.
+     */
+    public List<Resultado> efetivar(List<PedidoPreparado> preparados) {
+        try {
+            List<PedidoResponseDTO> respostas = transactionTemplate.execute(status -> pedidoService.efetivarLote(preparados));
+            return respostas.stream().map(Resultado::sucesso).toList();
+        } catch (RuntimeException falhaDoLote) {
+            if (preparados.size() == 1) {
+                return List.of(Resultado.falha(falhaDoLote));
+            }
+            return preparados.stream().map(this::efetivarIsolado).toList();
+        }
+    }
+
+    private Resultado efetivarIsolado(PedidoPreparado preparado) {
+        try {
+            return Resultado.sucesso(pedidoService.efetivarPedido(preparado));
+        } catch (RuntimeException e) {
+            return Resultado.falha(e);
+        }
+    }
+
+    public record Resultado(PedidoResponseDTO pedido, RuntimeException erro) {
+
+        static Resultado sucesso(PedidoResponseDTO pedido) {
+            return new Resultado(pedido, null);
+        }
+
+        static Resultado falha(RuntimeException erro) {
+            return new Resultado(null, erro);
+        }
+    }
+}
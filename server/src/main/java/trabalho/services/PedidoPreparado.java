@@ -0,0 +1,36 @@
+package trabalho.services;
+
+import trabalho.entities.CondicoesPagamento;
+import trabalho.entities.Fornecedor;
+import trabalho.entities.Loja;
+import trabalho.entities.Produto;
+import trabalho.entities.Usuario;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Pedido já validado e precificado, ainda sem baixa de estoque nem gravação.
+ * Não é uma entidade: cada efetivação monta um Pedido novo a partir dele,
+ * então pode ser reaproveitado se a transação de gravação precisar ser refeita.
+ */
+public record PedidoPreparado(
+        Loja loja,
+        Fornecedor fornecedor,
+        Usuario usuario,
+        CondicoesPagamento condicaoPagamento,
+        List<Item> itens,
+        List<Item> brindes,
+        Map<UUID, Integer> quantidadesPorProduto,
+        BigDecimal valorTotal,
+        BigDecimal cashbackGerado
+) {
+    public record Item(
+            Produto produto,
+            int quantidade,
+            BigDecimal precoUnitario,
+            BigDecimal ajusteUnitario
+    ) {}
+}
@@ -3,43 +3,60 @@ package trabalho.services;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import trabalho.cache.VersoesCatalogo;
+import trabalho.dto.AtualizacaoStatusResultadoDTO;
+import trabalho.dto.CancelamentoLoteResponseDTO;
+import trabalho.dto.Pagina;
 import trabalho.dto.PedidoRequestDTO;
 import trabalho.dto.PedidoResponseDTO;
 import trabalho.entities.*;
 import trabalho.enums.StatusPedido;
-import trabalho.enums.TipoCampanha;
-import trabalho.enums.TipoUsuario;
 import trabalho.mapper.PedidoMapper;
 import trabalho.repository.*;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PedidoService {
 
+    // Associações lidas pelo PedidoMapper; os itens vêm em lote (hibernate.default_batch_fetch_size)
+    private static final String[] GRAFO_LISTAGEM = {"loja", "fornecedor", "criadoPorUsuario"};
+
     private final PedidoRepository pedidoRepository;
     private final LojaRepository lojaRepository;
     private final FornecedorRepository fornecedorRepository;
     private final UsuarioRepository usuarioRepository;
     private final ProdutoRepository produtoRepository;
-    private final CondicoesEstadoRepository condicoesEstadoRepository;
-    private final CampanhaRepository campanhaRepository;
+    private final PrecificacaoService precificacaoService;
+    private final ContadoresPedidoService contadoresPedidoService;
+    private final VersoesCatalogo versoesCatalogo;
     private final PedidoMapper pedidoMapper;
     private final CondicoesPagamentoRepository condicoesPagamentoRepository;
 
     @Transactional
     public PedidoResponseDTO criarPedido(PedidoRequestDTO dto) {
+        return efetivarPedido(prepararPedido(dto));
+    }
 
-        Pedido pedido = new Pedido();
+    // -----------------------------------------
+    // Validação e precificação (somente leitura)
+    // -----------------------------------------
+    @Transactional(readOnly = true)
+    public PedidoPreparado prepararPedido(PedidoRequestDTO dto) {
 
         Loja loja = lojaRepository.findById(dto.lojaId())
                 .orElseThrow(() -> new RuntimeException("Loja não encontrada."));
@@ -50,205 +67,224 @@ public class PedidoService {
         Usuario usuario = usuarioRepository.findById(dto.criadoPorUsuarioId())
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado."));
 
+        CondicoesPagamento condicao = null;
         if (dto.condicaoPagamentoId() != null) {
-            CondicoesPagamento condicao = condicoesPagamentoRepository.findById(dto.condicaoPagamentoId())
+            condicao = condicoesPagamentoRepository.findById(dto.condicaoPagamentoId())
                     .orElseThrow(() -> new RuntimeException("Condição de pagamento não encontrada."));
-
-            if (!condicao.getFornecedor().getId().equals(fornecedor.getId())) {
-                throw new RuntimeException("A condição de pagamento não pertence a este fornecedor.");
-            }
-            pedido.setCondicaoPagamento(condicao);
-        } else {
-            throw new RuntimeException("É obrigatório selecionar uma condição de pagamento.");
         }
 
-        // Lógica de Condições Regionais (Estado)
-        Optional<CondicoesEstado> condicaoEstadoOpt = condicoesEstadoRepository
-                .findByFornecedor_IdAndEstado(fornecedor.getId(), loja.getEstado());
+        // Carrega todos os produtos do pedido (itens e brindes) em uma única consulta
+        Map<UUID, Produto> produtos = porId(produtoRepository.findAllById(
+                precificacaoService.produtosNecessarios(dto.fornecedorId(), dto.itens())), Produto::getId);
 
-        BigDecimal ajustePorUnidade = BigDecimal.ZERO;
-        BigDecimal cashbackPercentualEstado = BigDecimal.ZERO;
+        return precificar(dto, loja, fornecedor, usuario, condicao, produtos);
+    }
 
-        if (condicaoEstadoOpt.isPresent() && Boolean.TRUE.equals(condicaoEstadoOpt.get().getAtivo())) {
-            CondicoesEstado cond = condicaoEstadoOpt.get();
-            if (cond.getAjusteUnitarioAplicado() != null) {
-                ajustePorUnidade = cond.getAjusteUnitarioAplicado();
-            }
-            if (cond.getCashbackPercentual() != null) {
-                cashbackPercentualEstado = cond.getCashbackPercentual();
-            }
-        }
+    // -----------------------------------------
+    // Versão em lote: lojas, fornecedores, usuários, condições e produtos
+    // de todos os pedidos são resolvidos com uma consulta por tipo
+    // -----------------------------------------
+    @Transactional(readOnly = true)
+    public List<Preparacao> prepararLote(List<PedidoRequestDTO> dtos) {
 
-        pedido.setLoja(loja);
-        pedido.setFornecedor(fornecedor);
-        pedido.setCriadoPorUsuario(usuario);
-        pedido.setStatus(StatusPedido.PENDENTE);
-        pedido.setItens(new HashSet<>());
+        Map<UUID, Loja> lojas = porId(lojaRepository.findAllById(idsDe(dtos, PedidoRequestDTO::lojaId)), Loja::getId);
+        Map<UUID, Fornecedor> fornecedores = porId(fornecedorRepository.findAllById(idsDe(dtos, PedidoRequestDTO::fornecedorId)), Fornecedor::getId);
+        Map<UUID, Usuario> usuarios = porId(usuarioRepository.findAllById(idsDe(dtos, PedidoRequestDTO::criadoPorUsuarioId)), Usuario::getId);
+        Map<UUID, CondicoesPagamento> condicoes = porId(condicoesPagamentoRepository.findAllById(idsDe(dtos, PedidoRequestDTO::condicaoPagamentoId)), CondicoesPagamento::getId);
 
-        BigDecimal valorTotalCalculado = BigDecimal.ZERO;
-        int quantidadeTotalItens = 0;
+        Set<UUID> produtoIds = new HashSet<>();
+        for (PedidoRequestDTO dto : dtos) {
+            produtoIds.addAll(precificacaoService.produtosNecessarios(dto.fornecedorId(), dto.itens()));
+        }
+        Map<UUID, Produto> produtos = porId(produtoRepository.findAllById(produtoIds), Produto::getId);
 
-        // 1. Processa Itens, Aplica Ajuste Regional e Baixa Estoque
-        for (var itemDto : dto.itens()) {
-            Produto produto = produtoRepository.findById(itemDto.produtoId())
-                    .orElseThrow(() -> new RuntimeException("Produto não encontrado: " + itemDto.produtoId()));
+        List<Preparacao> resultado = new ArrayList<>(dtos.size());
+        for (PedidoRequestDTO dto : dtos) {
+            try {
+                Loja loja = lojas.get(dto.lojaId());
+                if (loja == null) throw new RuntimeException("Loja não encontrada.");
 
-            if (produto.getQuantidadeEstoque() < itemDto.quantidade()) {
-                throw new RuntimeException("Estoque insuficiente para o produto: " + produto.getNome());
-            }
+                Fornecedor fornecedor = fornecedores.get(dto.fornecedorId());
+                if (fornecedor == null) throw new RuntimeException("Fornecedor não encontrado.");
 
-            // BAIXA DE ESTOQUE
-            produto.setQuantidadeEstoque(produto.getQuantidadeEstoque() - itemDto.quantidade());
-            produtoRepository.save(produto);
+                Usuario usuario = usuarios.get(dto.criadoPorUsuarioId());
+                if (usuario == null) throw new RuntimeException("Usuário não encontrado.");
 
-            PedidoItem item = new PedidoItem();
-            item.setPedido(pedido);
-            item.setProduto(produto);
-            item.setQuantidade(itemDto.quantidade());
+                CondicoesPagamento condicao = null;
+                if (dto.condicaoPagamentoId() != null) {
+                    condicao = condicoes.get(dto.condicaoPagamentoId());
+                    if (condicao == null) throw new RuntimeException("Condição de pagamento não encontrada.");
+                }
 
-            // Aplica ajuste regional ao preço base
-            BigDecimal precoBase = produto.getPrecoBase();
-            BigDecimal precoFinal = precoBase.add(ajustePorUnidade);
-            if (precoFinal.compareTo(BigDecimal.ZERO) < 0) {
-                precoFinal = BigDecimal.ZERO;
+                resultado.add(new Preparacao(precificar(dto, loja, fornecedor, usuario, condicao, produtos), null));
+            } catch (RuntimeException e) {
+                resultado.add(new Preparacao(null, e));
             }
+        }
+        return resultado;
+    }
 
-            item.setPrecoUnitarioMomento(precoFinal);
-            item.setAjusteUnitarioAplicado(ajustePorUnidade);
+    public record Preparacao(PedidoPreparado preparado, RuntimeException erro) {}
 
-            pedido.getItens().add(item);
+    private static Set<UUID> idsDe(List<PedidoRequestDTO> dtos, Function<PedidoRequestDTO, UUID> campo) {
+        return dtos.stream().map(campo).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
 
-            BigDecimal subtotal = item.getPrecoUnitarioMomento()
-                    .multiply(BigDecimal.valueOf(item.getQuantidade()));
+    private static <T> Map<UUID, T> porId(List<T> entidades, Function<T, UUID> id) {
+        return entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
 
-            valorTotalCalculado = valorTotalCalculado.add(subtotal);
-            quantidadeTotalItens += itemDto.quantidade();
-        }
+    private PedidoPreparado precificar(PedidoRequestDTO dto, Loja loja, Fornecedor fornecedor, Usuario usuario,
+                                       CondicoesPagamento condicao, Map<UUID, Produto> produtos) {
 
-        // Buscar Campanhas Ativas
-        List<Campanha> campanhasAtivas = campanhaRepository.findByFornecedor_IdAndAtivoTrue(fornecedor.getId());
-        LocalDate hoje = LocalDate.now();
+        if (condicao == null) {
+            throw new RuntimeException("É obrigatório selecionar uma condição de pagamento.");
+        }
+        if (!condicao.getFornecedor().getId().equals(fornecedor.getId())) {
+            throw new RuntimeException("A condição de pagamento não pertence a este fornecedor.");
+        }
 
-        // 2. Aplica Campanhas de DESCONTO PERCENTUAL (Primeiro, para reduzir o total a pagar)
-        for (Campanha campanha : campanhasAtivas) {
-            // Valida Vigência
-            if (campanha.getDataInicio() != null && hoje.isBefore(campanha.getDataInicio())) continue;
-            if (campanha.getDataFim() != null && hoje.isAfter(campanha.getDataFim())) continue;
+        PrecificacaoService.Precificacao precificacao = precificacaoService.calcular(
+                fornecedor.getId(), loja.getEstado(), dto.itens(), produtos, true);
 
-            if (campanha.getTipo() == TipoCampanha.percentual_produto && campanha.getPercentualDesconto() != null) {
-                // Verifica valor mínimo de compra, se houver
-                if (campanha.getValorMinimoCompra() == null || valorTotalCalculado.compareTo(campanha.getValorMinimoCompra()) >= 0) {
-                    BigDecimal desconto = valorTotalCalculado
-                            .multiply(campanha.getPercentualDesconto())
-                            .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        return new PedidoPreparado(loja, fornecedor, usuario, condicao,
+                precificacao.itens(), precificacao.brindes(), precificacao.quantidadesPorProduto(),
+                precificacao.valorTotal(), precificacao.cashbackGerado());
+    }
 
-                    valorTotalCalculado = valorTotalCalculado.subtract(desconto);
+    // -----------------------------------------
+    // Baixa de estoque e gravação de um pedido já precificado
+    // -----------------------------------------
+    @Transactional
+    public PedidoResponseDTO efetivarPedido(PedidoPreparado preparado) {
+        return efetivarLote(List.of(preparado)).get(0);
+    }
 
-                    // Garante que não fique negativo
-                    if (valorTotalCalculado.compareTo(BigDecimal.ZERO) < 0) {
-                        valorTotalCalculado = BigDecimal.ZERO;
-                    }
-                }
+    /**
+     * Vários pedidos na mesma transação (group commit, importação): as quantidades de todos
+     * são somadas e reservadas num único comando, então as linhas de produto continuam
+     * sendo travadas uma vez só e na ordem de id, como num pedido isolado.
+     * Se faltar estoque para qualquer produto, o lote inteiro falha.
+     */
+    @Transactional
+    public List<PedidoResponseDTO> efetivarLote(List<PedidoPreparado> preparados) {
+
+        // Itens e brindes reservados num único comando, só depois da precificação: as linhas
+        // são travadas em uma ordem só, sem uma segunda rodada de travas para os brindes
+        Map<UUID, Integer> quantidadesItens = new HashMap<>();
+        Map<UUID, Integer> quantidadesBrindes = new HashMap<>();
+        for (PedidoPreparado preparado : preparados) {
+            preparado.quantidadesPorProduto().forEach((id, quantidade) -> quantidadesItens.merge(id, quantidade, Integer::sum));
+            for (PedidoPreparado.Item brinde : preparado.brindes()) {
+                quantidadesBrindes.merge(brinde.produto().getId(), brinde.quantidade(), Integer::sum);
             }
         }
+        ReservaEstoque reserva = produtoRepository.reservarEstoque(quantidadesItens, quantidadesBrindes);
+        List<UUID> semEstoque = reserva.semEstoque();
+        if (!semEstoque.isEmpty()) {
+            String nome = preparados.stream()
+                    .flatMap(p -> p.itens().stream())
+                    .filter(i -> i.produto().getId().equals(semEstoque.get(0)))
+                    .map(i -> i.produto().getNome())
+                    .findFirst()
+                    .orElse(semEstoque.get(0).toString());
+            throw new RuntimeException("Estoque insuficiente para o produto: " + nome);
+        }
 
-        // Define o valor total final do pedido
-        pedido.setValorTotal(valorTotalCalculado);
-
-        // 3. Aplica Cashback e Brindes (Baseado no valor final já com descontos)
-        BigDecimal totalCashback = BigDecimal.ZERO;
-
-        // Cashback Regional
-        if (cashbackPercentualEstado.compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal cashbackDoEstado = valorTotalCalculado
-                    .multiply(cashbackPercentualEstado)
-                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-            totalCashback = totalCashback.add(cashbackDoEstado);
+        // Brindes sem saldo no momento da reserva são simplesmente descartados,
+        // distribuídos na ordem dos pedidos
+        Map<UUID, Integer> brindesReservados = new HashMap<>(reserva.opcionaisReservadas());
+        List<PedidoResponseDTO> respostas = new ArrayList<>(preparados.size());
+        for (PedidoPreparado preparado : preparados) {
+            respostas.add(gravar(preparado, brindesReservados));
         }
+        return respostas;
+    }
 
-        // Campanhas de Cashback e Brinde
-        for (Campanha campanha : campanhasAtivas) {
-            if (campanha.getDataInicio() != null && hoje.isBefore(campanha.getDataInicio())) continue;
-            if (campanha.getDataFim() != null && hoje.isAfter(campanha.getDataFim())) continue;
+    private PedidoResponseDTO gravar(PedidoPreparado preparado, Map<UUID, Integer> brindesReservados) {
+        Pedido pedido = new Pedido();
+        pedido.setLoja(preparado.loja());
+        pedido.setFornecedor(preparado.fornecedor());
+        pedido.setCriadoPorUsuario(preparado.usuario());
+        pedido.setCondicaoPagamento(preparado.condicaoPagamento());
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setValorTotal(preparado.valorTotal());
+        pedido.setCashbackGerado(preparado.cashbackGerado());
+        pedido.setItens(new HashSet<>());
 
-            // Cashback por Valor de Compra
-            if (campanha.getTipo() == TipoCampanha.valor_compra && campanha.getValorMinimoCompra() != null) {
-                if (valorTotalCalculado.compareTo(campanha.getValorMinimoCompra()) >= 0) {
-                    if (campanha.getCashbackValor() != null) {
-                        totalCashback = totalCashback.add(campanha.getCashbackValor());
-                    }
-                }
-            }
+        for (PedidoPreparado.Item item : preparado.itens()) {
+            pedido.getItens().add(novoItem(pedido, item));
+        }
 
-            // Brinde por Quantidade
-            if (campanha.getTipo() == TipoCampanha.quantidade_produto && campanha.getQuantidadeMinimaProduto() != null) {
-                if (quantidadeTotalItens >= campanha.getQuantidadeMinimaProduto()) {
-                    Produto brinde = campanha.getProdutoIdBrinde();
-                    // Valida estoque do brinde
-                    if (brinde != null && brinde.getQuantidadeEstoque() > 0) {
-                        PedidoItem itemBrinde = new PedidoItem();
-                        itemBrinde.setPedido(pedido);
-                        itemBrinde.setProduto(brinde);
-                        itemBrinde.setQuantidade(1);
-                        itemBrinde.setPrecoUnitarioMomento(BigDecimal.ZERO); // Custo zero
-                        itemBrinde.setAjusteUnitarioAplicado(BigDecimal.ZERO);
-
-                        // Baixa estoque do brinde
-                        brinde.setQuantidadeEstoque(brinde.getQuantidadeEstoque() - 1);
-                        produtoRepository.save(brinde);
-
-                        pedido.getItens().add(itemBrinde);
-                    }
-                }
+        for (PedidoPreparado.Item brinde : preparado.brindes()) {
+            int saldo = brindesReservados.getOrDefault(brinde.produto().getId(), 0);
+            if (saldo >= brinde.quantidade()) {
+                brindesReservados.put(brinde.produto().getId(), saldo - brinde.quantidade());
+                pedido.getItens().add(novoItem(pedido, brinde));
             }
         }
 
-        pedido.setCashbackGerado(totalCashback);
-
         Pedido salvo = pedidoRepository.save(pedido);
+        contadoresPedidoService.registrarCriacao(situacao(salvo));
+        // O estoque reservado aparece no catálogo do fornecedor
+        versoesCatalogo.alterado(preparado.fornecedor().getId());
         return pedidoMapper.toResponseDTO(salvo);
     }
 
+    private static SituacaoPedido situacao(Pedido pedido) {
+        return new SituacaoPedido(pedido.getId(), pedido.getStatus(), pedido.getLoja().getId(),
+                pedido.getFornecedor().getId(), pedido.getValorTotal(), pedido.getCashbackGerado());
+    }
+
+    private PedidoItem novoItem(Pedido pedido, PedidoPreparado.Item preparado) {
+        PedidoItem item = new PedidoItem();
+        item.setPedido(pedido);
+        item.setProduto(preparado.produto());
+        item.setQuantidade(preparado.quantidade());
+        item.setPrecoUnitarioMomento(preparado.precoUnitario());
+        item.setAjusteUnitarioAplicado(preparado.ajusteUnitario());
+        return item;
+    }
+
     @Transactional(readOnly = true)
     public PedidoResponseDTO buscarPorId(UUID id) {
-        Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new RuntimeException("Pedido não encontrado."));
+        Pedido pedido = pedidoRepository.buscarCompleto(id).orElseThrow(() -> new RuntimeException("Pedido não encontrado."));
         return pedidoMapper.toResponseDTO(pedido);
     }
 
     @Transactional(readOnly = true)
-    public List<PedidoResponseDTO> listarTodos() {
-        return pedidoRepository.findAll().stream().map(pedidoMapper::toResponseDTO).collect(Collectors.toList());
+    public Pagina<PedidoResponseDTO> listarTodos(StatusPedido status, UUID lojaId, UUID fornecedorId, UUID after, Integer limit) {
+        return Paginacao.buscar(pedidoRepository,
+                Paginacao.todos(
+                        Paginacao.igual("status", status),
+                        Paginacao.igual("loja.id", lojaId),
+                        Paginacao.igual("fornecedor.id", fornecedorId)),
+                after, limit, Pedido::getId, pedidoMapper::toResponseDTO, GRAFO_LISTAGEM);
     }
 
     @Transactional(readOnly = true)
-    public List<PedidoResponseDTO> listarPorLoja(UUID lojaId) {
-        Loja loja = lojaRepository.findById(lojaId).orElseThrow(() -> new RuntimeException("Loja não encontrada."));
-        return pedidoRepository.findByLoja(loja).stream().map(pedidoMapper::toResponseDTO).collect(Collectors.toList());
+    public Pagina<PedidoResponseDTO> listarPorLoja(UUID lojaId, StatusPedido status, UUID after, Integer limit) {
+        if (!lojaRepository.existsById(lojaId)) throw new RuntimeException("Loja não encontrada.");
+        return listarTodos(status, lojaId, null, after, limit);
     }
 
     @Transactional(readOnly = true)
-    public List<PedidoResponseDTO> listarPorFornecedor(UUID fornecedorId) {
-        Fornecedor fornecedor = fornecedorRepository.findById(fornecedorId).orElseThrow(() -> new RuntimeException("Fornecedor não encontrado."));
-        return pedidoRepository.findByFornecedor(fornecedor).stream().map(pedidoMapper::toResponseDTO).collect(Collectors.toList());
+    public Pagina<PedidoResponseDTO> listarPorFornecedor(UUID fornecedorId, StatusPedido status, UUID after, Integer limit) {
+        if (!fornecedorRepository.existsById(fornecedorId)) throw new RuntimeException("Fornecedor não encontrado.");
+        return listarTodos(status, null, fornecedorId, after, limit);
     }
 
     @Transactional
     public PedidoResponseDTO atualizarStatus(UUID pedidoId, StatusPedido novoStatus, UUID usuarioId) {
-        Pedido pedido = pedidoRepository.findById(pedidoId).orElseThrow(() -> new RuntimeException("Pedido não encontrado."));
-        Usuario usuario = usuarioRepository.findById(usuarioId).orElseThrow(() -> new RuntimeException("Usuário não encontrado."));
+        Pedido pedido = pedidoRepository.buscarSomenteLeitura(pedidoId).orElseThrow(() -> new RuntimeException("Pedido não encontrado."));
+        VinculoUsuario vinculo = usuarioRepository.buscarVinculo(usuarioId).orElseThrow(() -> new RuntimeException("Usuário não encontrado."));
 
-        boolean isAdmin = usuario.getTipoUsuario() == TipoUsuario.ADMIN;
-        boolean isUsuarioDaLoja = false;
-        boolean isUsuarioDoFornecedor = false;
+        // Comparação direta das FKs: loja e fornecedor do pedido não são inicializados
+        boolean isAdmin = vinculo.isAdmin();
+        boolean isUsuarioDaLoja = vinculo.pertenceALoja(pedido.getLoja().getId());
+        boolean isUsuarioDoFornecedor = vinculo.pertenceAoFornecedor(pedido.getFornecedor().getId());
 
         if (!isAdmin) {
-            if (pedido.getLoja().getUsuarios() != null) {
-                isUsuarioDaLoja = pedido.getLoja().getUsuarios().stream().anyMatch(u -> u.getId().equals(usuarioId));
-            }
-            if (pedido.getFornecedor().getUsuarios() != null) {
-                isUsuarioDoFornecedor = pedido.getFornecedor().getUsuarios().stream().anyMatch(u -> u.getId().equals(usuarioId));
-            }
-
             if (!isUsuarioDaLoja && !isUsuarioDoFornecedor) {
                 throw new RuntimeException("Apenas os envolvidos (ou Administradores) podem alterar este pedido.");
             }
@@ -259,7 +295,20 @@ public class PedidoService {
         }
 
         OffsetDateTime agora = OffsetDateTime.now();
+        StatusPedido atual = pedido.getStatus();
+
+        // Só altera se o pedido ainda estiver no status validado acima, como no lote:
+        // duas mudanças simultâneas não devolvem o estoque nem contam a transição duas vezes
+        if (pedidoRepository.atualizarStatus(List.of(pedidoId), atual, novoStatus, agora).isEmpty()) {
+            throw new RuntimeException("O pedido foi alterado por outra operação. Tente novamente.");
+        }
+        if (novoStatus == StatusPedido.CANCELADO && atual != StatusPedido.CANCELADO) {
+            pedidoRepository.restaurarEstoque(List.of(pedidoId));
+            versoesCatalogo.alterado(pedido.getFornecedor().getId());
+        }
+        contadoresPedidoService.registrarTransicoes(List.of(situacao(pedido)), novoStatus);
 
+        // O pedido foi carregado somente leitura: a resposta reflete o UPDATE acima, sem gravar de novo
         switch (novoStatus) {
             case EM_SEPARACAO:
                 if (pedido.getDataSeparacao() == null) pedido.setDataSeparacao(agora);
@@ -272,34 +321,109 @@ public class PedidoService {
                 break;
             case CANCELADO:
                 if (pedido.getDataCancelado() == null) pedido.setDataCancelado(agora);
-                if (pedido.getStatus() != StatusPedido.CANCELADO) {
-                    restaurarEstoque(pedido);
-                }
                 break;
             case PENDENTE:
                 break;
         }
-
         pedido.setStatus(novoStatus);
-        Pedido atualizado = pedidoRepository.save(pedido);
-        return pedidoMapper.toResponseDTO(atualizado);
+        return pedidoMapper.toResponseDTO(pedido);
+    }
+
+    // -----------------------------------------
+    // Mudança de status em lote: permissão e transições validadas em memória,
+    // um UPDATE por status de origem
+    // -----------------------------------------
+    @Transactional
+    public List<AtualizacaoStatusResultadoDTO> atualizarStatusEmLote(List<UUID> pedidoIds, StatusPedido novoStatus, UUID usuarioId) {
+        VinculoUsuario vinculo = usuarioRepository.buscarVinculo(usuarioId).orElseThrow(() -> new RuntimeException("Usuário não encontrado."));
+        boolean isAdmin = vinculo.isAdmin();
+
+        Set<UUID> ids = new LinkedHashSet<>(pedidoIds);
+        Map<UUID, SituacaoPedido> situacoes = porId(pedidoRepository.buscarSituacoes(ids), SituacaoPedido::id);
+
+        Map<UUID, AtualizacaoStatusResultadoDTO> resultados = new LinkedHashMap<>();
+        Map<StatusPedido, List<UUID>> porStatusAtual = new EnumMap<>(StatusPedido.class);
+
+        for (UUID id : ids) {
+            SituacaoPedido situacao = situacoes.get(id);
+            if (situacao == null) {
+                resultados.put(id, new AtualizacaoStatusResultadoDTO(id, false, null, null, "Pedido não encontrado."));
+                continue;
+            }
+            try {
+                if (!isAdmin) {
+                    boolean isUsuarioDaLoja = vinculo.pertenceALoja(situacao.lojaId());
+                    boolean isUsuarioDoFornecedor = vinculo.pertenceAoFornecedor(situacao.fornecedorId());
+                    if (!isUsuarioDaLoja && !isUsuarioDoFornecedor) {
+                        throw new RuntimeException("Apenas os envolvidos (ou Administradores) podem alterar este pedido.");
+                    }
+                    validarTransicao(situacao.status(), novoStatus, isUsuarioDaLoja, isUsuarioDoFornecedor);
+                }
+                resultados.put(id, null);
+                porStatusAtual.computeIfAbsent(situacao.status(), s -> new ArrayList<>()).add(id);
+            } catch (RuntimeException e) {
+                resultados.put(id, new AtualizacaoStatusResultadoDTO(id, false, situacao.status(), situacao.status(), e.getMessage()));
+            }
+        }
+
+        OffsetDateTime agora = OffsetDateTime.now();
+        for (Map.Entry<StatusPedido, List<UUID>> grupo : porStatusAtual.entrySet()) {
+            StatusPedido atual = grupo.getKey();
+
+            // Só altera quem ainda está no status validado acima
+            Set<UUID> alterados = new HashSet<>(pedidoRepository.atualizarStatus(grupo.getValue(), atual, novoStatus, agora));
+            if (novoStatus == StatusPedido.CANCELADO && atual != StatusPedido.CANCELADO) {
+                pedidoRepository.restaurarEstoque(alterados);
+                versoesCatalogo.alterados(alterados.stream().map(id -> situacoes.get(id).fornecedorId()).toList());
+            }
+            contadoresPedidoService.registrarTransicoes(
+                    alterados.stream().map(situacoes::get).toList(), novoStatus);
+
+            for (UUID id : grupo.getValue()) {
+                resultados.put(id, alterados.contains(id)
+                        ? new AtualizacaoStatusResultadoDTO(id, true, atual, novoStatus, null)
+                        : new AtualizacaoStatusResultadoDTO(id, false, atual, atual,
+                                "O pedido foi alterado por outra operação. Tente novamente."));
+            }
+        }
+
+        return new ArrayList<>(resultados.values());
     }
 
     @Transactional
     public void deletarPedido(UUID id) {
-        Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new RuntimeException("Pedido não encontrado."));
-        if (pedido.getStatus() != StatusPedido.CANCELADO) {
-            restaurarEstoque(pedido);
+        // Só o status é lido: itens e produtos não são carregados
+        SituacaoPedido situacao = pedidoRepository.buscarSituacoes(List.of(id)).stream().findFirst()
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado."));
+        if (situacao.status() != StatusPedido.CANCELADO) {
+            pedidoRepository.restaurarEstoque(List.of(id));
+            versoesCatalogo.alterado(situacao.fornecedorId());
         }
-        pedidoRepository.delete(pedido);
+        pedidoRepository.excluirItens(List.of(id));
+        pedidoRepository.excluir(List.of(id));
+        contadoresPedidoService.registrarExclusao(situacao);
     }
 
-    private void restaurarEstoque(Pedido pedido) {
-        for (PedidoItem item : pedido.getItens()) {
-            Produto produto = item.getProduto();
-            produto.setQuantidadeEstoque(produto.getQuantidadeEstoque() + item.getQuantidade());
-            produtoRepository.save(produto);
+    // -----------------------------------------
+    // Cancelamento em massa dos pedidos pendentes de uma loja (ex.: loja desativada)
+    // -----------------------------------------
+    @Transactional
+    public CancelamentoLoteResponseDTO cancelarPendentesDaLoja(UUID lojaId, UUID usuarioId) {
+        VinculoUsuario vinculo = usuarioRepository.buscarVinculo(usuarioId).orElseThrow(() -> new RuntimeException("Usuário não encontrado."));
+        if (!vinculo.isAdmin()) {
+            throw new RuntimeException("Apenas administradores podem cancelar pedidos em massa.");
         }
+        if (!lojaRepository.existsById(lojaId)) {
+            throw new RuntimeException("Loja não encontrada.");
+        }
+
+        // Um UPDATE para os pedidos e um para o estoque, qualquer que seja a quantidade
+        List<SituacaoPedido> cancelados = pedidoRepository.cancelarPendentesDaLoja(lojaId, OffsetDateTime.now());
+        List<UUID> ids = cancelados.stream().map(SituacaoPedido::id).toList();
+        pedidoRepository.restaurarEstoque(ids);
+        versoesCatalogo.alterados(cancelados.stream().map(SituacaoPedido::fornecedorId).toList());
+        contadoresPedidoService.registrarTransicoes(cancelados, StatusPedido.CANCELADO);
+        return new CancelamentoLoteResponseDTO(lojaId, ids.size(), ids);
     }
 
     private void validarTransicao(StatusPedido atual, StatusPedido novo, boolean isLoja, boolean isFornecedor) {
@@ -0,0 +1,136 @@
+package trabalho.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import trabalho.cache.CampanhaCache;
+import trabalho.cache.Centavos;
+import trabalho.cache.CondicaoRegional;
+import trabalho.cache.CondicoesRegionaisCache;
+import trabalho.cache.RegrasCampanha;
+import trabalho.dto.PedidoItemRequestDTO;
+import trabalho.entities.Produto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cálculo do preço de um carrinho: ajuste regional, descontos de campanha,
+ * cashback e brindes. Não acessa o banco nem altera nada; as regras vêm dos
+ * caches em memória e os produtos já carregados são recebidos pelo chamador.
+ * Usado tanto na criação do pedido quanto na cotação.
+ */
+@Service
+@RequiredArgsConstructor
+public class PrecificacaoService {
+
+    private final CondicoesRegionaisCache condicoesRegionaisCache;
+    private final CampanhaCache campanhaCache;
+
+    // Itens do carrinho mais os brindes que a quantidade total já garante
+    public Set<UUID> produtosNecessarios(UUID fornecedorId, List<PedidoItemRequestDTO> itens) {
+        Set<UUID> ids = new HashSet<>();
+        int quantidadeTotalItens = 0;
+        for (var itemDto : itens) {
+            ids.add(itemDto.produtoId());
+            quantidadeTotalItens += itemDto.quantidade();
+        }
+        ids.addAll(campanhaCache.regras(fornecedorId).brindes(quantidadeTotalItens, LocalDate.now().toEpochDay()));
+        return ids;
+    }
+
+    /**
+     * @param verificarEstoque na criação do pedido, falha se o saldo lido não cobre a quantidade
+     *                         e descarta brindes sem saldo; na cotação o estoque é ignorado
+     */
+    public Precificacao calcular(UUID fornecedorId, String estado, List<PedidoItemRequestDTO> itensCarrinho,
+                                 Map<UUID, Produto> produtos, boolean verificarEstoque) {
+
+        // Lógica de Condições Regionais (Estado), lida da tabela em memória
+        CondicaoRegional condicaoRegional = condicoesRegionaisCache.condicao(fornecedorId, estado);
+        long ajustePorUnidade = condicaoRegional.ajusteUnitarioCentavos();
+        long cashbackPercentualEstado = condicaoRegional.cashbackPercentualCentesimos();
+        BigDecimal ajustePorUnidadeReais = Centavos.paraReais(ajustePorUnidade);
+
+        // Toda a conta é feita em centavos (long); BigDecimal só nos valores gravados
+        long valorTotalCalculado = 0;
+        int quantidadeTotalItens = 0;
+
+        // Regras de campanha já compiladas (cache em memória, sem consulta)
+        RegrasCampanha regras = campanhaCache.regras(fornecedorId);
+        long hoje = LocalDate.now().toEpochDay();
+
+        Map<UUID, Integer> quantidadesPorProduto = new LinkedHashMap<>();
+        for (var itemDto : itensCarrinho) {
+            quantidadesPorProduto.merge(itemDto.produtoId(), itemDto.quantidade(), Integer::sum);
+            quantidadeTotalItens += itemDto.quantidade();
+        }
+
+        // Brindes dependem só da quantidade total e já vieram na mesma consulta dos produtos
+        List<UUID> brindeIds = regras.brindes(quantidadeTotalItens, hoje);
+
+        List<PedidoPreparado.Item> itens = new ArrayList<>();
+
+        // 1. Processa Itens e Aplica Ajuste Regional
+        for (var itemDto : itensCarrinho) {
+            Produto produto = produtos.get(itemDto.produtoId());
+            if (produto == null) {
+                throw new RuntimeException("Produto não encontrado: " + itemDto.produtoId());
+            }
+
+            // Falha rápida com o saldo lido; a garantia real vem da reserva no fim
+            if (verificarEstoque && produto.getQuantidadeEstoque() < quantidadesPorProduto.get(produto.getId())) {
+                throw new RuntimeException("Estoque insuficiente para o produto: " + produto.getNome());
+            }
+
+            // Aplica ajuste regional ao preço base (nunca abaixo de zero)
+            long precoFinal = Math.max(0, Centavos.mais(Centavos.de(produto.getPrecoBase()), ajustePorUnidade));
+
+            itens.add(new PedidoPreparado.Item(produto, itemDto.quantidade(), Centavos.paraReais(precoFinal), ajustePorUnidadeReais));
+
+            valorTotalCalculado = Centavos.mais(valorTotalCalculado, Centavos.vezes(precoFinal, itemDto.quantidade()));
+        }
+
+        // 2. Aplica Campanhas de DESCONTO PERCENTUAL (Primeiro, para reduzir o total a pagar)
+        valorTotalCalculado = regras.aplicarDescontos(valorTotalCalculado, hoje);
+
+        // 3. Aplica Cashback e Brindes (Baseado no valor final já com descontos)
+        long totalCashback = 0;
+
+        // Cashback Regional
+        if (cashbackPercentualEstado > 0) {
+            totalCashback += Centavos.percentual(valorTotalCalculado, cashbackPercentualEstado);
+        }
+
+        // Cashback por Valor de Compra
+        totalCashback = Centavos.mais(totalCashback, regras.cashback(valorTotalCalculado, hoje));
+
+        // Brinde por Quantidade
+        List<PedidoPreparado.Item> brindes = new ArrayList<>();
+        for (UUID brindeId : brindeIds) {
+            Produto brinde = produtos.get(brindeId);
+            // Valida estoque do brinde
+            if (brinde != null && (!verificarEstoque || brinde.getQuantidadeEstoque() > 0)) {
+                // Custo zero
+                brindes.add(new PedidoPreparado.Item(brinde, 1, BigDecimal.ZERO, BigDecimal.ZERO));
+            }
+        }
+
+        return new Precificacao(itens, brindes, quantidadesPorProduto,
+                Centavos.paraReais(valorTotalCalculado), Centavos.paraReais(totalCashback));
+    }
+
+    public record Precificacao(
+            List<PedidoPreparado.Item> itens,
+            List<PedidoPreparado.Item> brindes,
+            Map<UUID, Integer> quantidadesPorProduto,
+            BigDecimal valorTotal,
+            BigDecimal cashbackGerado
+    ) {}
+}
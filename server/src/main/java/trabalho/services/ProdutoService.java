@@ -3,6 +3,10 @@ package trabalho.services;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import trabalho.cache.CotacaoCache;
+import trabalho.cache.IndiceProdutos;
+import trabalho.cache.VersoesCatalogo;
+import trabalho.dto.Pagina;
 import trabalho.dto.ProdutoRequestDTO;
 import trabalho.dto.ProdutoResponseDTO;
 import trabalho.entities.Categoria;
@@ -11,10 +15,14 @@ import trabalho.entities.Produto;
 import trabalho.mapper.ProdutoMapper;
 import trabalho.repository.CategoriaRepository;
 import trabalho.repository.FornecedorRepository;
+import trabalho.repository.DocumentoProduto;
 import trabalho.repository.ProdutoRepository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +33,11 @@ public class ProdutoService {
     private final FornecedorRepository fornecedorRepository;
     private final CategoriaRepository categoriaRepository;
     private final ProdutoMapper produtoMapper;
+    private final CotacaoCache cotacaoCache;
+    private final IndiceProdutos indiceProdutos;
+    private final VersoesCatalogo versoesCatalogo;
+
+    private static final int LIMITE_BUSCA_PADRAO = 20;
 
     // -------------------------------
     // CREATE
@@ -53,6 +66,9 @@ public class ProdutoService {
         }
 
         Produto salvo = produtoRepository.save(produto);
+        cotacaoCache.invalidarPrecos();
+        indiceProdutos.atualizar(documento(salvo));
+        versoesCatalogo.alterado(fornecedor.getId());
         return produtoMapper.toResponseDTO(salvo);
     }
 
@@ -60,14 +76,42 @@ public class ProdutoService {
     // READ 1 - Listar todos
     // -------------------------------
     @Transactional(readOnly = true)
-    public List<ProdutoResponseDTO> listarProdutos() {
-        return produtoRepository.findAll().stream()
+    public Pagina<ProdutoResponseDTO> listarProdutos(UUID fornecedorId, UUID categoriaId, Boolean ativo,
+                                                    UUID after, Integer limit) {
+        return Paginacao.buscar(produtoRepository,
+                Paginacao.todos(
+                        Paginacao.igual("fornecedor.id", fornecedorId),
+                        Paginacao.igual("categoria.id", categoriaId),
+                        Paginacao.igual("ativo", ativo)),
+                after, limit, Produto::getId, produtoMapper::toResponseDTO);
+    }
+
+    // -------------------------------
+    // READ 2 - Busca textual (índice em memória, sem acento e por prefixo)
+    // -------------------------------
+    @Transactional(readOnly = true)
+    public List<ProdutoResponseDTO> buscar(String consulta, UUID fornecedorId, UUID categoriaId, Boolean ativo, Integer limit) {
+        int tamanho = limit == null ? LIMITE_BUSCA_PADRAO : limit;
+        if (tamanho < 1 || tamanho > Paginacao.LIMITE_MAXIMO) {
+            throw new RuntimeException("O parâmetro limit deve estar entre 1 e " + Paginacao.LIMITE_MAXIMO + ".");
+        }
+
+        // O índice devolve só ids ordenados; os dados (estoque, preço) vêm do banco, numa consulta
+        List<UUID> ids = indiceProdutos.buscar(consulta, fornecedorId, categoriaId, ativo, tamanho);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Produto> porId = produtoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
                 .map(produtoMapper::toResponseDTO)
-                .collect(Collectors.toList());
+                .toList();
     }
 
     // -------------------------------
-    // READ 2 - Buscar por ID
+    // READ 3 - Buscar por ID
     // -------------------------------
     @Transactional(readOnly = true)
     public ProdutoResponseDTO buscarPorId(UUID id) {
@@ -84,6 +128,7 @@ public class ProdutoService {
 
         Produto produto = produtoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado."));
+        UUID fornecedorAnterior = produto.getFornecedor().getId();
 
         // Atualizações simples
         produto.setNome(dto.nome());
@@ -106,6 +151,10 @@ public class ProdutoService {
         }
 
         Produto salvo = produtoRepository.save(produto);
+        cotacaoCache.invalidarPrecos();
+        indiceProdutos.atualizar(documento(salvo));
+        // Se o produto mudou de fornecedor, os dois catálogos mudaram
+        versoesCatalogo.alterados(List.of(fornecedorAnterior, salvo.getFornecedor().getId()));
         return produtoMapper.toResponseDTO(salvo);
     }
 
@@ -118,5 +167,14 @@ public class ProdutoService {
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado."));
 
         produtoRepository.delete(produto);
+        cotacaoCache.invalidarPrecos();
+        indiceProdutos.remover(id);
+        versoesCatalogo.alterado(produto.getFornecedor().getId());
+    }
+
+    private static DocumentoProduto documento(Produto produto) {
+        return new DocumentoProduto(produto.getId(), produto.getFornecedor().getId(),
+                produto.getCategoria() == null ? null : produto.getCategoria().getId(),
+                produto.getAtivo(), produto.getNome(), produto.getDescricao());
     }
 }
@@ -5,13 +5,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import trabalho.dto.LoginRequestDTO;
+import trabalho.dto.Pagina;
 import trabalho.dto.UsuarioRequestDTO;
 import trabalho.dto.UsuarioResponseDTO;
-import trabalho.dto.LoginRequestDTO;
 import trabalho.entities.Usuario;
+import trabalho.enums.TipoUsuario;
 import trabalho.mapper.UsuarioMapper;
 import trabalho.repository.UsuarioRepository;
-import trabalho.enums.TipoUsuario;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -68,11 +69,14 @@ public class UsuarioService {
     }
 
     @Transactional(readOnly = true)
-    public List<UsuarioResponseDTO> listarUsuarios() {
-        return usuarioRepository.findAll()
-                .stream()
-                .map(usuarioMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public Pagina<UsuarioResponseDTO> listarUsuarios(TipoUsuario tipoUsuario, UUID lojaId, UUID fornecedorId,
+                                                    UUID after, Integer limit) {
+        return Paginacao.buscar(usuarioRepository,
+                Paginacao.todos(
+                        Paginacao.igual("tipoUsuario", tipoUsuario),
+                        Paginacao.igual("loja.id", lojaId),
+                        Paginacao.igual("fornecedor.id", fornecedorId)),
+                after, limit, Usuario::getId, usuarioMapper::toResponseDTO);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,64 @@
+package trabalho.cache;
+
+import org.junit.jupiter.api.Test;
+import trabalho.support.PrecificacaoReferencia;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Equivalência entre a aritmética em centavos e as contas em BigDecimal (escala 2, HALF_UP)
+ * que ela substituiu. Entradas aleatórias com semente fixa: uma falha é sempre reproduzível.
+ */
+class CentavosTest {
+
+    private static final int CASOS = 200_000;
+
+    @Test
+    void percentualIgualAoDeBigDecimal() {
+        Random random = new Random(13);
+        for (int i = 0; i < CASOS; i++) {
+            long centavos = random.nextLong(-100_000_000L, 100_000_000_000L);
+            long percentual = random.nextLong(0, 10_001);
+
+            long esperado = Centavos.de(PrecificacaoReferencia.percentual(
+                    Centavos.paraReais(centavos), Centavos.paraReais(percentual)));
+
+            assertThat(Centavos.percentual(centavos, percentual))
+                    .as("%d centavos x %d centésimos", centavos, percentual)
+                    .isEqualTo(esperado);
+        }
+    }
+
+    @Test
+    void percentualArredondaMeioCentavoParaLongeDoZero() {
+        // 0,50 * 1% = 0,005 -> 0,01 ; -0,50 * 1% = -0,005 -> -0,01
+        assertThat(Centavos.percentual(50, 100)).isEqualTo(1);
+        assertThat(Centavos.percentual(-50, 100)).isEqualTo(-1);
+        // 0,49 * 1% = 0,0049 -> 0,00
+        assertThat(Centavos.percentual(49, 100)).isZero();
+    }
+
+    @Test
+    void conversaoIdaEVoltaSemPerda() {
+        Random random = new Random(21);
+        for (int i = 0; i < CASOS; i++) {
+            long centavos = random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L);
+            BigDecimal reais = Centavos.paraReais(centavos);
+
+            assertThat(reais.scale()).isEqualTo(2);
+            assertThat(Centavos.de(reais)).isEqualTo(centavos);
+        }
+    }
+
+    @Test
+    void estouroViraErroDeNegocio() {
+        assertThatThrownBy(() -> Centavos.vezes(Long.MAX_VALUE / 2, 3))
+                .hasMessage("Valor do pedido excede o limite permitido.");
+        assertThatThrownBy(() -> Centavos.mais(Long.MAX_VALUE, 1))
+                .hasMessage("Valor do pedido excede o limite permitido.");
+    }
+}
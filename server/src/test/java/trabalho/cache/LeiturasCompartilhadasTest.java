@@ -0,0 +1,92 @@
+package trabalho.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Leituras simultâneas com os mesmos parâmetros viram uma só, e um aviso do catálogo
+ * (por exemplo, o estoque movimentado por um pedido) só descarta a listagem de produtos.
+ */
+class LeiturasCompartilhadasTest {
+
+    private static final int LEITORES = 16;
+
+    private final VersoesCatalogo versoesCatalogo = new VersoesCatalogo();
+    private final LeiturasCompartilhadas leituras = new LeiturasCompartilhadas(versoesCatalogo, 60_000);
+
+    @Test
+    void leiturasSimultaneasExecutamUmaSoConsulta() throws Exception {
+        AtomicInteger consultas = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Object> resultados = new ConcurrentLinkedQueue<>();
+        List<Object> parametros = List.of(true, 50);
+
+        List<Thread> leitores = new ArrayList<>();
+        for (int i = 0; i < LEITORES; i++) {
+            leitores.add(Thread.ofPlatform().start(() -> resultados.add(
+                    leituras.ler(LeiturasCompartilhadas.FORNECEDORES, parametros, () -> {
+                        consultas.incrementAndGet();
+                        aguardar(liberar);
+                        return new Object();
+                    }))));
+        }
+        // Só libera a consulta quando todos já estão parados: um na consulta, os outros esperando por ela
+        while (!leitores.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+            Thread.sleep(5);
+        }
+        liberar.countDown();
+        for (Thread leitor : leitores) {
+            leitor.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertThat(consultas).hasValue(1);
+        assertThat(resultados).hasSize(LEITORES);
+        assertThat(resultados.stream().distinct()).hasSize(1);
+    }
+
+    @Test
+    void avisoDoCatalogoDescartaSoOsProdutos() {
+        AtomicInteger produtos = new AtomicInteger();
+        AtomicInteger categorias = new AtomicInteger();
+        AtomicInteger fornecedores = new AtomicInteger();
+        ler(produtos, categorias, fornecedores);
+
+        versoesCatalogo.alterado(UUID.randomUUID());
+        ler(produtos, categorias, fornecedores);
+
+        assertThat(produtos).hasValue(2);
+        assertThat(categorias).hasValue(1);
+        assertThat(fornecedores).hasValue(1);
+
+        leituras.invalidar(LeiturasCompartilhadas.CATEGORIAS, LeiturasCompartilhadas.FORNECEDORES);
+        ler(produtos, categorias, fornecedores);
+
+        assertThat(produtos).hasValue(2);
+        assertThat(categorias).hasValue(2);
+        assertThat(fornecedores).hasValue(2);
+    }
+
+    private void ler(AtomicInteger produtos, AtomicInteger categorias, AtomicInteger fornecedores) {
+        leituras.ler(LeiturasCompartilhadas.PRODUTOS, List.of(), produtos::incrementAndGet);
+        leituras.ler(LeiturasCompartilhadas.CATEGORIAS, List.of(), categorias::incrementAndGet);
+        leituras.ler(LeiturasCompartilhadas.FORNECEDORES, List.of(), fornecedores::incrementAndGet);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package trabalho.cache;
+
+import org.junit.jupiter.api.Test;
+import trabalho.entities.Campanha;
+import trabalho.enums.TipoCampanha;
+import trabalho.support.PrecificacaoReferencia;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regras compiladas (centavos) contra as contas em BigDecimal sobre as mesmas campanhas,
+ * e a ordem fixa de aplicação dos descontos (data de início, depois id).
+ */
+class RegrasCampanhaTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2026, 3, 15);
+    private static final int CASOS = 20_000;
+
+    @Test
+    void descontosECashbackIguaisAosDeBigDecimal() {
+        Random random = new Random(7);
+        for (int i = 0; i < CASOS; i++) {
+            List<Campanha> campanhas = new ArrayList<>();
+            int quantidade = random.nextInt(6);
+            for (int j = 0; j < quantidade; j++) {
+                campanhas.add(campanhaAleatoria(random));
+            }
+            RegrasCampanha regras = RegrasCampanha.compilar(0, campanhas);
+
+            List<Campanha> ordenadas = new ArrayList<>(campanhas);
+            ordenadas.sort(Comparator.comparing(Campanha::getDataInicio, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Campanha::getId));
+
+            long total = random.nextLong(0, 5_000_000_00L);
+            BigDecimal totalReais = Centavos.paraReais(total);
+
+            long comDesconto = regras.aplicarDescontos(total, HOJE.toEpochDay());
+            BigDecimal comDescontoReferencia = PrecificacaoReferencia.aplicarDescontos(totalReais, ordenadas, HOJE);
+            assertThat(Centavos.paraReais(comDesconto)).isEqualByComparingTo(comDescontoReferencia);
+
+            assertThat(Centavos.paraReais(regras.cashback(comDesconto, HOJE.toEpochDay())))
+                    .isEqualByComparingTo(PrecificacaoReferencia.cashback(comDescontoReferencia, ordenadas, HOJE));
+        }
+    }
+
+    @Test
+    void descontosSeguemADataDeInicio() {
+        // 10% com mínimo de 100,00 e 50% sem mínimo: a ordem muda o resultado
+        Campanha dezPorCento = desconto(id(2), HOJE.minusDays(10), "10.00", "100.00");
+        Campanha metade = desconto(id(1), HOJE.minusDays(5), "50.00", null);
+
+        // 150,00 -> 135,00 -> 67,50 (a de 50% começou depois, então é aplicada depois)
+        assertThat(aplicar(List.of(metade, dezPorCento), 150_00)).isEqualTo(67_50);
+        assertThat(aplicar(List.of(dezPorCento, metade), 150_00)).isEqualTo(67_50);
+    }
+
+    @Test
+    void mesmaDataDeInicioDesempataPeloId() {
+        Campanha dezPorCento = desconto(id(1), HOJE.minusDays(5), "10.00", "100.00");
+        Campanha metade = desconto(id(2), HOJE.minusDays(5), "50.00", null);
+
+        assertThat(aplicar(List.of(metade, dezPorCento), 150_00)).isEqualTo(67_50);
+
+        // Com os ids trocados a de 50% vem primeiro: 150,00 -> 75,00 (abaixo do mínimo da de 10%)
+        Campanha metadePrimeiro = desconto(id(0), HOJE.minusDays(5), "50.00", null);
+        assertThat(aplicar(List.of(dezPorCento, metadePrimeiro), 150_00)).isEqualTo(75_00);
+    }
+
+    @Test
+    void semDataDeInicioVemPrimeiro() {
+        Campanha dezPorCento = desconto(id(2), null, "10.00", "100.00");
+        Campanha metade = desconto(id(1), HOJE.minusDays(5), "50.00", null);
+
+        assertThat(aplicar(List.of(metade, dezPorCento), 150_00)).isEqualTo(67_50);
+    }
+
+    private static long aplicar(List<Campanha> campanhas, long total) {
+        return RegrasCampanha.compilar(0, campanhas).aplicarDescontos(total, HOJE.toEpochDay());
+    }
+
+    private static Campanha campanhaAleatoria(Random random) {
+        Campanha c = new Campanha();
+        c.setId(UUID.randomUUID());
+        c.setDataInicio(random.nextInt(4) == 0 ? null : HOJE.plusDays(random.nextInt(-30, 5)));
+        c.setDataFim(random.nextInt(4) == 0 ? null : HOJE.plusDays(random.nextInt(-5, 30)));
+        if (random.nextBoolean()) {
+            c.setTipo(TipoCampanha.percentual_produto);
+            c.setPercentualDesconto(Centavos.paraReais(random.nextLong(0, 10_001)));
+            c.setValorMinimoCompra(random.nextBoolean() ? null : Centavos.paraReais(random.nextLong(0, 1_000_000_00L)));
+        } else {
+            c.setTipo(TipoCampanha.valor_compra);
+            c.setValorMinimoCompra(Centavos.paraReais(random.nextLong(0, 1_000_000_00L)));
+            c.setCashbackValor(Centavos.paraReais(random.nextLong(0, 10_000_00L)));
+        }
+        return c;
+    }
+
+    private static Campanha desconto(UUID id, LocalDate inicio, String percentual, String minimo) {
+        Campanha c = new Campanha();
+        c.setId(id);
+        c.setTipo(TipoCampanha.percentual_produto);
+        c.setDataInicio(inicio);
+        c.setPercentualDesconto(new BigDecimal(percentual));
+        c.setValorMinimoCompra(minimo != null ? new BigDecimal(minimo) : null);
+        return c;
+    }
+
+    private static UUID id(long n) {
+        return new UUID(0, n);
+    }
+}
@@ -0,0 +1,159 @@
+package trabalho.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import trabalho.cache.VersoesCatalogo;
+import trabalho.entities.Fornecedor;
+import trabalho.support.Cenario;
+import trabalho.support.TesteIntegracao;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET condicional, negociação de codificação e reconstrução do catálogo do fornecedor.
+ */
+@TesteIntegracao
+@AutoConfigureMockMvc
+class FornecedorControllerCatalogoTest {
+
+    // Consultas de outras conexões paradas esperando uma trava
+    private static final String SQL_ESPERANDO_TRAVA = """
+            SELECT count(*) FROM pg_stat_activity
+             WHERE datname = current_database() AND wait_event_type = 'Lock' AND query ILIKE '%produtos%'
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Cenario cenario;
+
+    @Autowired
+    private VersoesCatalogo versoesCatalogo;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void fornecedorInexistenteRespondeNotFoundMesmoComIfNoneMatch() throws Exception {
+        mockMvc.perform(get("/api/v1/fornecedores/{id}/catalogo", UUID.randomUUID())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"gen-0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void etagAtualRespondeNotModified() throws Exception {
+        Fornecedor fornecedor = cenario.fornecedor();
+
+        MvcResult primeira = mockMvc.perform(get("/api/v1/fornecedores/{id}/catalogo", fornecedor.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = primeira.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/fornecedores/{id}/catalogo", fornecedor.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void gzipSoQuandoAceitoComQualidadePositiva() throws Exception {
+        Fornecedor fornecedor = cenario.fornecedor();
+
+        mockMvc.perform(get("/api/v1/fornecedores/{id}/catalogo", fornecedor.getId())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        mockMvc.perform(get("/api/v1/fornecedores/{id}/catalogo", fornecedor.getId())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+
+        mockMvc.perform(get("/api/v1/fornecedores/{id}/catalogo", fornecedor.getId())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "*;q=0.5, gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void reconstrucaoUnicaServeOSnapshotAnteriorEnquantoRoda() throws Exception {
+        Fornecedor fornecedor = cenario.fornecedor();
+        cenario.produtos(fornecedor, 3, 10);
+        String etagAnterior = mockMvc.perform(get("/api/v1/fornecedores/{id}/catalogo", fornecedor.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Trava a tabela de produtos: a reconstrução fica parada na consulta dos produtos
+        try (Connection trava = dataSource.getConnection()) {
+            trava.setAutoCommit(false);
+            try (Statement st = trava.createStatement()) {
+                st.execute("LOCK TABLE produtos IN ACCESS EXCLUSIVE MODE");
+            }
+
+            // Aviso de uma escrita confirmada no catálogo deste fornecedor
+            versoesCatalogo.alterado(fornecedor.getId());
+            aguardarConsultasTravadas(1);
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<String>> leituras = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    leituras.add(executor.submit(() -> mockMvc
+                            .perform(get("/api/v1/fornecedores/{id}/catalogo", fornecedor.getId()))
+                            .andExpect(status().isOk())
+                            .andReturn().getResponse().getHeader(HttpHeaders.ETAG)));
+                }
+                for (Future<String> leitura : leituras) {
+                    assertThat(leitura.get(10, TimeUnit.SECONDS)).isEqualTo(etagAnterior);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            // Nenhuma das leituras abriu uma segunda reconstrução
+            assertThat(jdbcTemplate.queryForObject(SQL_ESPERANDO_TRAVA, Integer.class)).isEqualTo(1);
+
+            trava.rollback();
+        }
+
+        // Liberada a trava, a mesma reconstrução termina e a versão nova passa a ser servida
+        String etagNova = etagAnterior;
+        for (int i = 0; i < 200 && etagNova.equals(etagAnterior); i++) {
+            Thread.sleep(25);
+            etagNova = mockMvc.perform(get("/api/v1/fornecedores/{id}/catalogo", fornecedor.getId()))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        }
+        assertThat(etagNova).isNotEqualTo(etagAnterior);
+    }
+
+    private void aguardarConsultasTravadas(int esperadas) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            if (jdbcTemplate.queryForObject(SQL_ESPERANDO_TRAVA, Integer.class) >= esperadas) {
+                return;
+            }
+            Thread.sleep(25);
+        }
+        throw new AssertionError("A reconstrução não chegou à consulta de produtos.");
+    }
+}
@@ -0,0 +1,108 @@
+package trabalho.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import trabalho.dto.PedidoItemRequestDTO;
+import trabalho.dto.PedidoRequestDTO;
+import trabalho.dto.PedidoResponseDTO;
+import trabalho.entities.CondicoesPagamento;
+import trabalho.entities.Fornecedor;
+import trabalho.entities.Loja;
+import trabalho.entities.Produto;
+import trabalho.entities.Usuario;
+import trabalho.enums.EscopoTotal;
+import trabalho.enums.StatusPedido;
+import trabalho.repository.PedidoRepository;
+import trabalho.repository.ProdutoRepository;
+import trabalho.repository.TotalPorStatus;
+import trabalho.support.Cenario;
+import trabalho.support.TesteIntegracao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * A mudança de status de um pedido é um UPDATE condicional ao status lido: cancelamentos
+ * simultâneos do mesmo pedido devolvem o estoque e movem os contadores uma vez só.
+ */
+@TesteIntegracao
+class AtualizacaoStatusPedidoTest {
+
+    private static final int ESTOQUE = 50;
+    private static final int CONCORRENTES = 8;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ContadoresPedidoService contadoresPedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private Cenario cenario;
+
+    private Loja loja;
+    private Usuario usuario;
+    private Produto produto;
+    private PedidoResponseDTO pedido;
+
+    @BeforeEach
+    void preparar() {
+        Fornecedor fornecedor = cenario.fornecedor();
+        loja = cenario.loja();
+        usuario = cenario.usuarioDaLoja(loja);
+        CondicoesPagamento condicao = cenario.condicao(fornecedor);
+        produto = cenario.produtos(fornecedor, 1, ESTOQUE).get(0);
+        pedido = pedidoService.criarPedido(new PedidoRequestDTO(loja.getId(), fornecedor.getId(), usuario.getId(),
+                condicao.getId(), List.of(new PedidoItemRequestDTO(produto.getId(), 5))));
+    }
+
+    @Test
+    void cancelamentosSimultaneosDevolvemOEstoqueUmaVez() throws Exception {
+        CyclicBarrier largada = new CyclicBarrier(CONCORRENTES);
+        List<Future<PedidoResponseDTO>> tentativas = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCORRENTES);
+        try {
+            for (int i = 0; i < CONCORRENTES; i++) {
+                tentativas.add(executor.submit(() -> {
+                    largada.await(10, TimeUnit.SECONDS);
+                    return pedidoService.atualizarStatus(pedido.id(), StatusPedido.CANCELADO, usuario.getId());
+                }));
+            }
+            int sucessos = 0;
+            for (Future<PedidoResponseDTO> tentativa : tentativas) {
+                try {
+                    assertThat(tentativa.get(30, TimeUnit.SECONDS).status()).isEqualTo(StatusPedido.CANCELADO);
+                    sucessos++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(RuntimeException.class);
+                }
+            }
+            assertThat(sucessos).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(pedidoRepository.findById(pedido.id()).orElseThrow().getStatus()).isEqualTo(StatusPedido.CANCELADO);
+        assertThat(produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEstoque()).isEqualTo(ESTOQUE);
+        assertThat(contadoresPedidoService.totais(EscopoTotal.LOJA, loja.getId()))
+                .filteredOn(t -> t.quantidade() != 0)
+                .extracting(TotalPorStatus::status, TotalPorStatus::quantidade)
+                .containsExactly(tuple(StatusPedido.CANCELADO, 1L));
+    }
+}
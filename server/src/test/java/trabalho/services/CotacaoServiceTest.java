@@ -0,0 +1,55 @@
+package trabalho.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import trabalho.dto.CotacaoRequestDTO;
+import trabalho.dto.CotacaoResponseDTO;
+import trabalho.dto.PedidoItemRequestDTO;
+import trabalho.entities.Fornecedor;
+import trabalho.entities.Loja;
+import trabalho.entities.Produto;
+import trabalho.support.Cenario;
+import trabalho.support.ContadorSql;
+import trabalho.support.TesteIntegracao;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * O cache de cotações é compartilhado pelas lojas do mesmo estado, mas a resposta
+ * sempre identifica a loja que pediu.
+ */
+@TesteIntegracao
+class CotacaoServiceTest {
+
+    @Autowired
+    private CotacaoService cotacaoService;
+
+    @Autowired
+    private Cenario cenario;
+
+    @Test
+    void mesmoCarrinhoEmDuasLojasDoMesmoEstado() {
+        Fornecedor fornecedor = cenario.fornecedor();
+        List<Produto> produtos = cenario.produtos(fornecedor, 3, 10);
+        Loja primeira = cenario.loja();
+        Loja segunda = cenario.loja();
+        assertThat(segunda.getEstado()).isEqualTo(primeira.getEstado());
+
+        List<PedidoItemRequestDTO> itens = produtos.stream().map(p -> new PedidoItemRequestDTO(p.getId(), 2)).toList();
+        CotacaoResponseDTO daPrimeira = cotacaoService.cotar(new CotacaoRequestDTO(primeira.getId(), fornecedor.getId(), itens));
+        // Aquece o estado da segunda loja; a cotação em si sai do cache
+        cotacaoService.cotar(new CotacaoRequestDTO(segunda.getId(), fornecedor.getId(), itens));
+
+        CotacaoResponseDTO[] daSegunda = new CotacaoResponseDTO[1];
+        int comandos = ContadorSql.contar(() ->
+                daSegunda[0] = cotacaoService.cotar(new CotacaoRequestDTO(segunda.getId(), fornecedor.getId(), itens)));
+
+        assertThat(comandos).isZero();
+        assertThat(daSegunda[0].lojaId()).isEqualTo(segunda.getId());
+        assertThat(daPrimeira.lojaId()).isEqualTo(primeira.getId());
+        assertThat(daSegunda[0].valorTotal()).isEqualByComparingTo(daPrimeira.valorTotal());
+        assertThat(daSegunda[0].itens()).isEqualTo(daPrimeira.itens());
+    }
+}
@@ -0,0 +1,156 @@
+package trabalho.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import trabalho.dto.PedidoItemRequestDTO;
+import trabalho.dto.PedidoRequestDTO;
+import trabalho.dto.PedidoResponseDTO;
+import trabalho.entities.CondicoesPagamento;
+import trabalho.entities.Fornecedor;
+import trabalho.entities.Loja;
+import trabalho.entities.PedidoIdempotencia;
+import trabalho.entities.Produto;
+import trabalho.entities.Usuario;
+import trabalho.repository.PedidoIdempotenciaRepository;
+import trabalho.repository.PedidoRepository;
+import trabalho.repository.ProdutoRepository;
+import trabalho.support.Cenario;
+import trabalho.support.TesteIntegracao;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * O pedido e a Idempotency-Key são gravados juntos: uma falha depois de criar o pedido
+ * não pode deixar um pedido sem chave (que seria duplicado na nova tentativa).
+ */
+@TesteIntegracao
+class IdempotenciaPedidoServiceTest {
+
+    private static final int ESTOQUE = 100;
+
+    @Autowired
+    private IdempotenciaPedidoService idempotenciaPedidoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoIdempotenciaRepository pedidoIdempotenciaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private Cenario cenario;
+
+    private Loja loja;
+    private Fornecedor fornecedor;
+    private CondicoesPagamento condicao;
+    private Produto produto;
+    private PedidoRequestDTO dto;
+    private UUID pedidoDaOutraInstancia;
+
+    @BeforeEach
+    void preparar() {
+        fornecedor = cenario.fornecedor();
+        loja = cenario.loja();
+        Usuario usuario = cenario.usuarioDaLoja(loja);
+        condicao = cenario.condicao(fornecedor);
+        produto = cenario.produtos(fornecedor, 1, ESTOQUE).get(0);
+        dto = new PedidoRequestDTO(loja.getId(), fornecedor.getId(), usuario.getId(), condicao.getId(),
+                List.of(new PedidoItemRequestDTO(produto.getId(), 3)));
+    }
+
+    @Test
+    void falhaDepoisDeCriarOPedidoDesfazOPedido() {
+        String chave = UUID.randomUUID().toString();
+
+        // Simula a queda entre a criação do pedido e a gravação da chave
+        assertThatThrownBy(() -> idempotenciaPedidoService.executar(chave, dto, () -> {
+            pedidoService.criarPedido(dto);
+            throw new RuntimeException("falha simulada");
+        })).hasMessage("falha simulada");
+
+        assertThat(pedidoRepository.findByLoja(loja)).isEmpty();
+        assertThat(pedidoIdempotenciaRepository.existsById(chave)).isFalse();
+        assertThat(estoque()).isEqualTo(ESTOQUE);
+
+        // A nova tentativa com a mesma chave cria exatamente um pedido
+        PedidoResponseDTO primeira = idempotenciaPedidoService.executar(chave, dto, () -> pedidoService.criarPedido(dto));
+        PedidoResponseDTO repetida = idempotenciaPedidoService.executar(chave, dto, () -> pedidoService.criarPedido(dto));
+
+        assertThat(repetida.id()).isEqualTo(primeira.id());
+        assertThat(pedidoRepository.findByLoja(loja)).hasSize(1);
+        assertThat(estoque()).isEqualTo(ESTOQUE - 3);
+    }
+
+    @Test
+    void chaveGravadaPorOutraInstanciaDesfazOPedidoDuplicado() {
+        String chave = UUID.randomUUID().toString();
+        TransactionTemplate outraTransacao = new TransactionTemplate(transactionManager);
+        outraTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Enquanto esta requisição cria o pedido, outra instância grava a mesma chave e confirma
+        PedidoResponseDTO resposta = idempotenciaPedidoService.executar(chave, dto, () -> {
+            PedidoIdempotencia daOutra = outraTransacao.execute(status -> {
+                String auxiliar = UUID.randomUUID().toString();
+                idempotenciaPedidoService.executar(auxiliar, dto, () -> pedidoService.criarPedido(dto));
+                PedidoIdempotencia gravada = pedidoIdempotenciaRepository.findById(auxiliar).orElseThrow();
+                pedidoIdempotenciaRepository.inserirSeLivre(chave, gravada.getHashRequisicao(), gravada.getPedidoId(),
+                        gravada.getResposta(), gravada.getCriadoEm(), gravada.getExpiraEm());
+                return gravada;
+            });
+            pedidoDaOutraInstancia = daOutra.getPedidoId();
+            return pedidoService.criarPedido(dto);
+        });
+
+        assertThat(resposta.id()).isEqualTo(pedidoDaOutraInstancia);
+        assertThat(pedidoRepository.findByLoja(loja)).hasSize(1);
+        assertThat(estoque()).isEqualTo(ESTOQUE - 3);
+    }
+
+    @Test
+    void gravarAChaveNaoEsvaziaOCacheDeSegundoNivel() {
+        // Aquece o cache com loja, fornecedor e condição
+        pedidoService.criarPedido(dto);
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        idempotenciaPedidoService.executar(UUID.randomUUID().toString(), dto, () -> pedidoService.criarPedido(dto));
+
+        assertThat(entityManagerFactory.getCache().contains(Loja.class, loja.getId())).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Fornecedor.class, fornecedor.getId())).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(CondicoesPagamento.class, condicao.getId())).isTrue();
+
+        // O pedido seguinte continua sendo atendido pelo cache, sem novas faltas
+        long faltas = estatisticas.getSecondLevelCacheMissCount();
+        long acertos = estatisticas.getSecondLevelCacheHitCount();
+        idempotenciaPedidoService.executar(UUID.randomUUID().toString(), dto, () -> pedidoService.criarPedido(dto));
+
+        assertThat(estatisticas.getSecondLevelCacheMissCount()).isEqualTo(faltas);
+        assertThat(estatisticas.getSecondLevelCacheHitCount()).isGreaterThan(acertos);
+    }
+
+    private int estoque() {
+        return produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEstoque();
+    }
+}
@@ -0,0 +1,93 @@
+package trabalho.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import trabalho.dto.ImportacaoPedidoResultadoDTO;
+import trabalho.dto.PedidoItemRequestDTO;
+import trabalho.dto.PedidoRequestDTO;
+import trabalho.entities.CondicoesPagamento;
+import trabalho.entities.Fornecedor;
+import trabalho.entities.Loja;
+import trabalho.entities.Produto;
+import trabalho.entities.Usuario;
+import trabalho.support.Cenario;
+import trabalho.support.TesteIntegracao;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Linhas NDJSON acima do limite (proporcional ao máximo de itens por pedido) e pedidos
+ * com itens demais são recusados um a um, sem derrubar o restante da importação.
+ */
+@TesteIntegracao
+class ImportacaoPedidoServiceTest {
+
+    private static final int MAXIMO_ITENS = 1000;
+
+    @Autowired
+    private ImportacaoPedidoService importacaoPedidoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Cenario cenario;
+
+    private PedidoRequestDTO pedido;
+    private Produto produto;
+
+    @BeforeEach
+    void preparar() {
+        Fornecedor fornecedor = cenario.fornecedor();
+        Loja loja = cenario.loja();
+        Usuario usuario = cenario.usuarioDaLoja(loja);
+        CondicoesPagamento condicao = cenario.condicao(fornecedor);
+        produto = cenario.produtos(fornecedor, 1, 100).get(0);
+        pedido = new PedidoRequestDTO(loja.getId(), fornecedor.getId(), usuario.getId(), condicao.getId(),
+                List.of(new PedidoItemRequestDTO(produto.getId(), 2)));
+    }
+
+    @Test
+    void linhaLongaEPedidoGrandeDemaisSaoRecusados() throws Exception {
+        PedidoRequestDTO grande = new PedidoRequestDTO(pedido.lojaId(), pedido.fornecedorId(),
+                pedido.criadoPorUsuarioId(), pedido.condicaoPagamentoId(),
+                Collections.nCopies(MAXIMO_ITENS + 1, new PedidoItemRequestDTO(produto.getId(), 1)));
+        String enorme = "{\"referencia\":\"" + "x".repeat(2_000_000) + "\"}";
+
+        String entrada = String.join("\n",
+                objectMapper.writeValueAsString(pedido),
+                enorme,
+                objectMapper.writeValueAsString(grande),
+                objectMapper.writeValueAsString(pedido)) + "\n";
+
+        List<ImportacaoPedidoResultadoDTO> resultados = importar(entrada);
+
+        assertThat(resultados).extracting(ImportacaoPedidoResultadoDTO::referencia).containsExactly("1", "2", "3", "4");
+        assertThat(resultados).extracting(ImportacaoPedidoResultadoDTO::sucesso).containsExactly(true, false, false, true);
+        assertThat(resultados.get(1).erro()).startsWith("Linha 2 excede o máximo de");
+        assertThat(resultados.get(2).erro()).contains("excede o máximo de " + MAXIMO_ITENS + " por pedido");
+    }
+
+    private List<ImportacaoPedidoResultadoDTO> importar(String entrada) throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        importacaoPedidoService.importar(new ByteArrayInputStream(entrada.getBytes(StandardCharsets.UTF_8)),
+                ImportacaoPedidoService.Formato.NDJSON, saida);
+        return saida.toString(StandardCharsets.UTF_8).lines()
+                .map(linha -> {
+                    try {
+                        return objectMapper.readValue(linha, ImportacaoPedidoResultadoDTO.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,91 @@
+package trabalho.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import trabalho.dto.PedidoItemRequestDTO;
+import trabalho.dto.PedidoRequestDTO;
+import trabalho.entities.CondicoesPagamento;
+import trabalho.entities.Fornecedor;
+import trabalho.entities.Loja;
+import trabalho.entities.Produto;
+import trabalho.entities.Usuario;
+import trabalho.repository.ProdutoRepository;
+import trabalho.support.Cenario;
+import trabalho.support.TesteIntegracao;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lote de pedidos na mesma transação: uma reserva só com as quantidades somadas
+ * e, se ela falhar, cada pedido refeito isoladamente.
+ */
+@TesteIntegracao
+class PedidoLoteServiceTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoLoteService pedidoLoteService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private Cenario cenario;
+
+    private Loja loja;
+    private Fornecedor fornecedor;
+    private Usuario usuario;
+    private CondicoesPagamento condicao;
+    private List<Produto> produtos;
+
+    @BeforeEach
+    void preparar() {
+        fornecedor = cenario.fornecedor();
+        loja = cenario.loja();
+        usuario = cenario.usuarioDaLoja(loja);
+        condicao = cenario.condicao(fornecedor);
+        produtos = cenario.produtos(fornecedor, 3, 10);
+    }
+
+    @Test
+    void pedidosDoLoteCompartilhamProdutos() {
+        List<PedidoLoteService.Resultado> resultados = pedidoLoteService.efetivar(List.of(
+                preparar(item(2, 3), item(0, 1)),
+                preparar(item(0, 4), item(1, 2)),
+                preparar(item(1, 5), item(2, 3))));
+
+        assertThat(resultados).allSatisfy(r -> assertThat(r.erro()).isNull());
+        assertThat(estoque(0)).isEqualTo(5);
+        assertThat(estoque(1)).isEqualTo(3);
+        assertThat(estoque(2)).isEqualTo(4);
+    }
+
+    @Test
+    void faltaDeEstoqueNoLoteAfetaSoOPedidoQueNaoCabe() {
+        List<PedidoLoteService.Resultado> resultados = pedidoLoteService.efetivar(List.of(
+                preparar(item(0, 6)),
+                preparar(item(0, 6))));
+
+        assertThat(resultados.get(0).erro()).isNull();
+        assertThat(resultados.get(1).erro()).hasMessageStartingWith("Estoque insuficiente");
+        assertThat(estoque(0)).isEqualTo(4);
+    }
+
+    private PedidoPreparado preparar(PedidoItemRequestDTO... itens) {
+        return pedidoService.prepararPedido(new PedidoRequestDTO(loja.getId(), fornecedor.getId(), usuario.getId(),
+                condicao.getId(), List.of(itens)));
+    }
+
+    private PedidoItemRequestDTO item(int produto, int quantidade) {
+        return new PedidoItemRequestDTO(produtos.get(produto).getId(), quantidade);
+    }
+
+    private int estoque(int produto) {
+        return produtoRepository.findById(produtos.get(produto).getId()).orElseThrow().getQuantidadeEstoque();
+    }
+}
@@ -0,0 +1,113 @@
+package trabalho.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import trabalho.dto.PedidoItemRequestDTO;
+import trabalho.dto.PedidoRequestDTO;
+import trabalho.dto.PedidoResponseDTO;
+import trabalho.entities.CondicoesPagamento;
+import trabalho.entities.Fornecedor;
+import trabalho.entities.Loja;
+import trabalho.entities.Produto;
+import trabalho.entities.Usuario;
+import trabalho.support.Cenario;
+import trabalho.support.ContadorSql;
+import trabalho.support.TesteIntegracao;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Orçamento de comandos SQL por pedido: a quantidade de comandos não pode crescer
+ * com o número de itens (regressão do N+1 na criação do pedido) nem, nas leituras,
+ * com o número de pedidos e itens devolvidos.
+ */
+@TesteIntegracao
+class PedidoServiceSqlTest {
+
+    // usuário e produtos (loja, fornecedor e condição vêm do cache de segundo nível),
+    // reserva de estoque em lote, INSERT do pedido e INSERT dos itens em lote
+    private static final int COMANDOS_POR_PEDIDO = 5;
+
+    // existsById da loja/fornecedor, pedidos (com loja, fornecedor e criador), itens e produtos em lote
+    private static final int COMANDOS_POR_PAGINA = 4;
+
+    // pedido com loja, fornecedor, criador, itens e produtos numa consulta só
+    private static final int COMANDOS_POR_PEDIDO_COMPLETO = 1;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private Cenario cenario;
+
+    private Loja loja;
+    private Fornecedor fornecedor;
+    private Usuario usuario;
+    private CondicoesPagamento condicao;
+    private List<Produto> produtos;
+
+    @BeforeEach
+    void preparar() {
+        fornecedor = cenario.fornecedor();
+        loja = cenario.loja();
+        usuario = cenario.usuarioDaLoja(loja);
+        condicao = cenario.condicao(fornecedor);
+        produtos = cenario.produtos(fornecedor, 20, 1_000);
+    }
+
+    @Test
+    void criarPedidoNaoFazUmaConsultaPorItem() {
+        // Primeiro pedido aquece os caches em memória (campanhas, condições regionais)
+        criar(produtos.subList(0, 1));
+
+        int comUmItem = ContadorSql.contar(() -> criar(produtos.subList(0, 1)));
+        int comVinteItens = ContadorSql.contar(() -> criar(produtos));
+
+        assertThat(comVinteItens).isEqualTo(comUmItem);
+        assertThat(comVinteItens).isLessThanOrEqualTo(COMANDOS_POR_PEDIDO);
+    }
+
+    @Test
+    void listagensNaoFazemUmaConsultaPorPedido() {
+        criar(produtos.subList(0, 1));
+
+        int lojaComUm = ContadorSql.contar(() -> pedidoService.listarPorLoja(loja.getId(), null, null, 100));
+        int fornecedorComUm = ContadorSql.contar(() -> pedidoService.listarPorFornecedor(fornecedor.getId(), null, null, 100));
+        int todosComUm = ContadorSql.contar(() -> pedidoService.listarTodos(null, null, fornecedor.getId(), null, null));
+
+        for (int i = 0; i < 10; i++) {
+            criar(produtos.subList(i, i + 5));
+        }
+
+        int lojaComOnze = ContadorSql.contar(() -> assertThat(
+                pedidoService.listarPorLoja(loja.getId(), null, null, 100).itens()).hasSize(11));
+        int fornecedorComOnze = ContadorSql.contar(() -> assertThat(
+                pedidoService.listarPorFornecedor(fornecedor.getId(), null, null, 100).itens()).hasSize(11));
+        int todosComOnze = ContadorSql.contar(() -> assertThat(
+                pedidoService.listarTodos(null, null, fornecedor.getId(), null, null).itens()).hasSize(11));
+
+        assertThat(lojaComOnze).isEqualTo(lojaComUm).isLessThanOrEqualTo(COMANDOS_POR_PAGINA);
+        assertThat(fornecedorComOnze).isEqualTo(fornecedorComUm).isLessThanOrEqualTo(COMANDOS_POR_PAGINA);
+        assertThat(todosComOnze).isEqualTo(todosComUm).isLessThanOrEqualTo(COMANDOS_POR_PAGINA);
+    }
+
+    @Test
+    void buscarPorIdNaoFazUmaConsultaPorItem() {
+        PedidoResponseDTO comUmItem = criar(produtos.subList(0, 1));
+        PedidoResponseDTO comVinteItens = criar(produtos);
+
+        int consultasUmItem = ContadorSql.contar(() -> pedidoService.buscarPorId(comUmItem.id()));
+        int consultasVinteItens = ContadorSql.contar(() -> pedidoService.buscarPorId(comVinteItens.id()));
+
+        assertThat(consultasVinteItens).isEqualTo(consultasUmItem).isLessThanOrEqualTo(COMANDOS_POR_PEDIDO_COMPLETO);
+    }
+
+    private PedidoResponseDTO criar(List<Produto> itens) {
+        return pedidoService.criarPedido(new PedidoRequestDTO(loja.getId(), fornecedor.getId(), usuario.getId(),
+                condicao.getId(),
+                itens.stream().map(p -> new PedidoItemRequestDTO(p.getId(), 2)).toList()));
+    }
+}
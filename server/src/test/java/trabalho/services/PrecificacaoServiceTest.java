@@ -0,0 +1,117 @@
+package trabalho.services;
+
+import org.junit.jupiter.api.Test;
+import trabalho.cache.CampanhaCache;
+import trabalho.cache.Centavos;
+import trabalho.cache.CondicaoRegional;
+import trabalho.cache.CondicoesRegionaisCache;
+import trabalho.cache.RegrasCampanha;
+import trabalho.dto.PedidoItemRequestDTO;
+import trabalho.entities.Campanha;
+import trabalho.entities.Produto;
+import trabalho.enums.TipoCampanha;
+import trabalho.support.PrecificacaoReferencia;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Precificação completa de carrinhos aleatórios (ajuste regional, descontos em cadeia,
+ * cashback regional e de campanha) comparada com o cálculo antigo em BigDecimal.
+ */
+class PrecificacaoServiceTest {
+
+    private static final int CARRINHOS = 2_000;
+    private static final UUID FORNECEDOR = UUID.randomUUID();
+
+    private final CondicoesRegionaisCache condicoesRegionaisCache = mock(CondicoesRegionaisCache.class);
+    private final CampanhaCache campanhaCache = mock(CampanhaCache.class);
+    private final PrecificacaoService precificacaoService = new PrecificacaoService(condicoesRegionaisCache, campanhaCache);
+
+    @Test
+    void mesmoResultadoQueOCalculoEmBigDecimal() {
+        Random random = new Random(42);
+        LocalDate hoje = LocalDate.now();
+
+        for (int i = 0; i < CARRINHOS; i++) {
+            // Condição regional: ajuste positivo ou negativo, cashback percentual opcional
+            BigDecimal ajuste = Centavos.paraReais(random.nextLong(-20_00, 20_01));
+            BigDecimal cashbackEstado = random.nextBoolean() ? BigDecimal.ZERO.setScale(2) : Centavos.paraReais(random.nextLong(0, 15_01));
+            when(condicoesRegionaisCache.condicao(any(), any()))
+                    .thenReturn(new CondicaoRegional(Centavos.de(ajuste), Centavos.de(cashbackEstado), null));
+
+            List<Campanha> campanhas = campanhas(random, hoje);
+            when(campanhaCache.regras(FORNECEDOR)).thenReturn(RegrasCampanha.compilar(0, campanhas));
+
+            Map<UUID, Produto> produtos = new HashMap<>();
+            List<PedidoItemRequestDTO> itens = new ArrayList<>();
+            BigDecimal totalReferencia = BigDecimal.ZERO;
+            int linhas = random.nextInt(1, 30);
+            for (int j = 0; j < linhas; j++) {
+                Produto produto = new Produto();
+                produto.setId(UUID.randomUUID());
+                produto.setPrecoBase(Centavos.paraReais(random.nextLong(1, 50_000_00)));
+                produto.setQuantidadeEstoque(Integer.MAX_VALUE);
+                produtos.put(produto.getId(), produto);
+
+                int quantidade = random.nextInt(1, 500);
+                itens.add(new PedidoItemRequestDTO(produto.getId(), quantidade));
+                totalReferencia = totalReferencia.add(PrecificacaoReferencia.precoFinal(produto.getPrecoBase(), ajuste)
+                        .multiply(BigDecimal.valueOf(quantidade)));
+            }
+
+            totalReferencia = PrecificacaoReferencia.aplicarDescontos(totalReferencia, campanhas, hoje);
+            BigDecimal cashbackReferencia = BigDecimal.ZERO;
+            if (cashbackEstado.compareTo(BigDecimal.ZERO) > 0) {
+                cashbackReferencia = PrecificacaoReferencia.percentual(totalReferencia, cashbackEstado);
+            }
+            cashbackReferencia = cashbackReferencia.add(PrecificacaoReferencia.cashback(totalReferencia, campanhas, hoje));
+
+            PrecificacaoService.Precificacao precificacao = precificacaoService.calcular(
+                    FORNECEDOR, "SP", itens, produtos, true);
+
+            assertThat(precificacao.valorTotal()).isEqualByComparingTo(totalReferencia);
+            assertThat(precificacao.cashbackGerado()).isEqualByComparingTo(cashbackReferencia);
+            for (PedidoPreparado.Item item : precificacao.itens()) {
+                assertThat(item.precoUnitario())
+                        .isEqualByComparingTo(PrecificacaoReferencia.precoFinal(item.produto().getPrecoBase(), ajuste));
+                assertThat(item.ajusteUnitario()).isEqualByComparingTo(ajuste);
+            }
+        }
+    }
+
+    // Já na ordem de aplicação (data de início, id), como a referência espera
+    private static List<Campanha> campanhas(Random random, LocalDate hoje) {
+        List<Campanha> campanhas = new ArrayList<>();
+        int quantidade = random.nextInt(4);
+        for (int i = 0; i < quantidade; i++) {
+            Campanha c = new Campanha();
+            c.setId(UUID.randomUUID());
+            c.setDataInicio(hoje.minusDays(random.nextInt(30)));
+            if (random.nextBoolean()) {
+                c.setTipo(TipoCampanha.percentual_produto);
+                c.setPercentualDesconto(Centavos.paraReais(random.nextLong(0, 60_01)));
+                c.setValorMinimoCompra(random.nextBoolean() ? null : Centavos.paraReais(random.nextLong(0, 100_000_00)));
+            } else {
+                c.setTipo(TipoCampanha.valor_compra);
+                c.setValorMinimoCompra(Centavos.paraReais(random.nextLong(0, 100_000_00)));
+                c.setCashbackValor(Centavos.paraReais(random.nextLong(0, 500_00)));
+            }
+            campanhas.add(c);
+        }
+        campanhas.sort(Comparator.comparing(Campanha::getDataInicio).thenComparing(Campanha::getId));
+        return campanhas;
+    }
+}
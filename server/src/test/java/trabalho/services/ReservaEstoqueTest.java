@@ -0,0 +1,135 @@
+package trabalho.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import trabalho.dto.PedidoItemRequestDTO;
+import trabalho.dto.PedidoItemResponseDTO;
+import trabalho.dto.PedidoRequestDTO;
+import trabalho.dto.PedidoResponseDTO;
+import trabalho.entities.CondicoesPagamento;
+import trabalho.entities.Fornecedor;
+import trabalho.entities.Loja;
+import trabalho.entities.Produto;
+import trabalho.entities.Usuario;
+import trabalho.enums.StatusPedido;
+import trabalho.repository.ProdutoRepository;
+import trabalho.support.Cenario;
+import trabalho.support.TesteIntegracao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reserva (ProdutoRepositoryCustomImpl) e devolução de estoque (PedidoRepositoryCustomImpl)
+ * travam os produtos na mesma ordem, a do banco: pedidos com os mesmos produtos em ordens
+ * opostas e cancelamentos simultâneos não entram em deadlock. Brinde sem saldo na hora
+ * da reserva fica de fora sem derrubar o pedido.
+ */
+@TesteIntegracao
+class ReservaEstoqueTest {
+
+    private static final int ESTOQUE = 10_000;
+    private static final int PRODUTOS = 6;
+    private static final int THREADS = 8;
+    private static final int PEDIDOS_POR_THREAD = 20;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoLoteService pedidoLoteService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private Cenario cenario;
+
+    private Fornecedor fornecedor;
+    private Loja loja;
+    private Usuario usuario;
+    private CondicoesPagamento condicao;
+
+    @BeforeEach
+    void preparar() {
+        fornecedor = cenario.fornecedor();
+        loja = cenario.loja();
+        usuario = cenario.usuarioDaLoja(loja);
+        condicao = cenario.condicao(fornecedor);
+    }
+
+    @Test
+    void reservasEmOrdensOpostasECancelamentosNaoTravam() throws Exception {
+        List<Produto> produtos = cenario.produtos(fornecedor, PRODUTOS, ESTOQUE);
+        List<PedidoItemRequestDTO> crescente = new ArrayList<>();
+        for (int i = 0; i < PRODUTOS; i++) {
+            crescente.add(new PedidoItemRequestDTO(produtos.get(i).getId(), i + 1));
+        }
+        List<PedidoItemRequestDTO> decrescente = crescente.reversed();
+
+        CyclicBarrier largada = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> threads = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                List<PedidoItemRequestDTO> itens = t % 2 == 0 ? crescente : decrescente;
+                threads.add(executor.submit(() -> {
+                    largada.await(10, TimeUnit.SECONDS);
+                    int mantidos = 0;
+                    for (int n = 0; n < PEDIDOS_POR_THREAD; n++) {
+                        PedidoResponseDTO pedido = pedidoService.criarPedido(new PedidoRequestDTO(loja.getId(),
+                                fornecedor.getId(), usuario.getId(), condicao.getId(), itens));
+                        // Metade é cancelada logo em seguida: a devolução disputa as mesmas linhas
+                        if (n % 2 == 0) {
+                            pedidoService.atualizarStatus(pedido.id(), StatusPedido.CANCELADO, usuario.getId());
+                        } else {
+                            mantidos++;
+                        }
+                    }
+                    return mantidos;
+                }));
+            }
+            int mantidos = 0;
+            for (Future<Integer> thread : threads) {
+                mantidos += thread.get(60, TimeUnit.SECONDS);
+            }
+
+            for (int i = 0; i < PRODUTOS; i++) {
+                assertThat(estoque(produtos.get(i))).isEqualTo(ESTOQUE - mantidos * (i + 1));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void brindeSemSaldoNaReservaFicaDeFora() {
+        Produto item = cenario.produtos(fornecedor, 1, 100).get(0);
+        Produto brinde = cenario.produtos(fornecedor, 1, 1).get(0);
+        cenario.campanhaDeBrinde(fornecedor, brinde, 1);
+
+        // Os dois pedidos são precificados com o brinde (saldo 1), mas só um o recebe na reserva
+        PedidoRequestDTO dto = new PedidoRequestDTO(loja.getId(), fornecedor.getId(), usuario.getId(),
+                condicao.getId(), List.of(new PedidoItemRequestDTO(item.getId(), 2)));
+        List<PedidoLoteService.Resultado> resultados = pedidoLoteService.efetivar(List.of(
+                pedidoService.prepararPedido(dto), pedidoService.prepararPedido(dto)));
+
+        assertThat(resultados).allSatisfy(r -> assertThat(r.erro()).isNull());
+        assertThat(resultados).filteredOn(r -> r.pedido().itens().stream()
+                .map(PedidoItemResponseDTO::produtoId).anyMatch(brinde.getId()::equals)).hasSize(1);
+        assertThat(estoque(brinde)).isZero();
+        assertThat(estoque(item)).isEqualTo(96);
+    }
+
+    private int estoque(Produto produto) {
+        return produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEstoque();
+    }
+}
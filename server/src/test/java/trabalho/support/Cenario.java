@@ -0,0 +1,113 @@
+package trabalho.support;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import trabalho.entities.Campanha;
+import trabalho.entities.CondicoesPagamento;
+import trabalho.entities.Fornecedor;
+import trabalho.entities.Loja;
+import trabalho.entities.Produto;
+import trabalho.entities.Usuario;
+import trabalho.enums.TipoCampanha;
+import trabalho.enums.TipoUsuario;
+import trabalho.repository.CampanhaRepository;
+import trabalho.repository.CondicoesPagamentoRepository;
+import trabalho.repository.FornecedorRepository;
+import trabalho.repository.LojaRepository;
+import trabalho.repository.ProdutoRepository;
+import trabalho.repository.UsuarioRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Dados mínimos para os testes de integração: cada chamada cria registros novos
+ * (CNPJs e e-mails aleatórios), então os testes não dependem uns dos outros.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class Cenario {
+
+    private final FornecedorRepository fornecedorRepository;
+    private final LojaRepository lojaRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final CondicoesPagamentoRepository condicoesPagamentoRepository;
+    private final ProdutoRepository produtoRepository;
+    private final CampanhaRepository campanhaRepository;
+
+    public Fornecedor fornecedor() {
+        Fornecedor fornecedor = new Fornecedor();
+        fornecedor.setNomeFantasia("Fornecedor " + sufixo());
+        fornecedor.setCnpj(cnpj());
+        fornecedor.setEstado("SP");
+        fornecedor.setAtivo(true);
+        return fornecedorRepository.save(fornecedor);
+    }
+
+    public Loja loja() {
+        Loja loja = new Loja();
+        loja.setNomeFantasia("Loja " + sufixo());
+        loja.setCnpj(cnpj());
+        loja.setEstado("SP");
+        loja.setAtivo(true);
+        return lojaRepository.save(loja);
+    }
+
+    public Usuario usuarioDaLoja(Loja loja) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Comprador");
+        usuario.setEmail("comprador." + sufixo() + "@teste.com");
+        usuario.setSenhaHash("x");
+        usuario.setTipoUsuario(TipoUsuario.LOJA);
+        usuario.setLoja(loja);
+        usuario.setAtivo(true);
+        return usuarioRepository.save(usuario);
+    }
+
+    public CondicoesPagamento condicao(Fornecedor fornecedor) {
+        CondicoesPagamento condicao = new CondicoesPagamento();
+        condicao.setFornecedor(fornecedor);
+        condicao.setDescricao("30 dias " + sufixo());
+        condicao.setPrazoDias(30);
+        condicao.setAtivo(true);
+        return condicoesPagamentoRepository.save(condicao);
+    }
+
+    public List<Produto> produtos(Fornecedor fornecedor, int quantidade, int estoque) {
+        List<Produto> produtos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Produto produto = new Produto();
+            produto.setFornecedor(fornecedor);
+            produto.setNome("Produto " + i + " " + sufixo());
+            produto.setPrecoBase(new BigDecimal("10.50").add(BigDecimal.valueOf(i)));
+            produto.setQuantidadeEstoque(estoque);
+            produto.setAtivo(true);
+            produtos.add(produto);
+        }
+        return produtoRepository.saveAll(produtos);
+    }
+
+    // Um brinde por pedido a partir de quantidadeMinima itens no carrinho
+    public Campanha campanhaDeBrinde(Fornecedor fornecedor, Produto brinde, int quantidadeMinima) {
+        Campanha campanha = new Campanha();
+        campanha.setFornecedor(fornecedor);
+        campanha.setNome("Brinde " + sufixo());
+        campanha.setTipo(TipoCampanha.quantidade_produto);
+        campanha.setQuantidadeMinimaProduto(quantidadeMinima);
+        campanha.setProdutoIdBrinde(brinde);
+        campanha.setDataInicio(LocalDate.now().minusDays(1));
+        campanha.setAtivo(true);
+        return campanhaRepository.save(campanha);
+    }
+
+    private static String cnpj() {
+        return String.format("%014d", ThreadLocalRandom.current().nextLong(100_000_000_000_000L));
+    }
+
+    private static String sufixo() {
+        return Long.toString(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE), 36);
+    }
+}
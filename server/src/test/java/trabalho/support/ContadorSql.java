@@ -0,0 +1,82 @@
+package trabalho.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conta os comandos SQL enviados ao banco pela thread corrente (JPA e JdbcTemplate).
+ * Cada prepareStatement/createStatement conta um: um lote JDBC de INSERTs conta uma vez.
+ * Jobs agendados rodando em outras threads não entram na contagem.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class ContadorSql {
+
+    private static final Set<String> COMANDOS = Set.of("prepareStatement", "createStatement", "prepareCall");
+    private static final ThreadLocal<AtomicInteger> CONTAGEM = new ThreadLocal<>();
+
+    public static int contar(Runnable acao) {
+        AtomicInteger contagem = new AtomicInteger();
+        CONTAGEM.set(contagem);
+        try {
+            acao.run();
+        } finally {
+            CONTAGEM.remove();
+        }
+        return contagem.get();
+    }
+
+    @Bean
+    static BeanPostProcessor contadorSqlDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ContagemDataSource)) {
+                    return new ContagemDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class ContagemDataSource extends DelegatingDataSource {
+
+        ContagemDataSource(DataSource alvo) {
+            super(alvo);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return contando(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String usuario, String senha) throws SQLException {
+            return contando(super.getConnection(usuario, senha));
+        }
+
+        private static Connection contando(Connection conexao) {
+            return (Connection) Proxy.newProxyInstance(ContadorSql.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, metodo, args) -> {
+                        AtomicInteger contagem = CONTAGEM.get();
+                        if (contagem != null && COMANDOS.contains(metodo.getName())) {
+                            contagem.incrementAndGet();
+                        }
+                        try {
+                            return metodo.invoke(conexao, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
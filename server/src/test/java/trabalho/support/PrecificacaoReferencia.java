@@ -0,0 +1,61 @@
+package trabalho.support;
+
+import trabalho.entities.Campanha;
+import trabalho.enums.TipoCampanha;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * As contas da precificação como eram antes de passarem para centavos em {@code long}:
+ * BigDecimal com escala 2 e HALF_UP. Serve de referência para os testes de equivalência.
+ * As campanhas devem chegar já na ordem em que são aplicadas (data de início, id).
+ */
+public final class PrecificacaoReferencia {
+
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+
+    private PrecificacaoReferencia() {
+    }
+
+    public static BigDecimal percentual(BigDecimal valor, BigDecimal percentual) {
+        return valor.multiply(percentual).divide(CEM, 2, RoundingMode.HALF_UP);
+    }
+
+    public static BigDecimal precoFinal(BigDecimal precoBase, BigDecimal ajuste) {
+        BigDecimal precoFinal = precoBase.add(ajuste);
+        return precoFinal.compareTo(BigDecimal.ZERO) < 0 ? BigDecimal.ZERO : precoFinal;
+    }
+
+    public static BigDecimal aplicarDescontos(BigDecimal total, List<Campanha> campanhas, LocalDate hoje) {
+        for (Campanha c : campanhas) {
+            if (c.getTipo() != TipoCampanha.percentual_produto || !vigente(c, hoje) || c.getPercentualDesconto() == null) continue;
+            if (c.getValorMinimoCompra() == null || total.compareTo(c.getValorMinimoCompra()) >= 0) {
+                total = total.subtract(percentual(total, c.getPercentualDesconto()));
+                if (total.compareTo(BigDecimal.ZERO) < 0) {
+                    total = BigDecimal.ZERO;
+                }
+            }
+        }
+        return total;
+    }
+
+    public static BigDecimal cashback(BigDecimal total, List<Campanha> campanhas, LocalDate hoje) {
+        BigDecimal soma = BigDecimal.ZERO;
+        for (Campanha c : campanhas) {
+            if (c.getTipo() != TipoCampanha.valor_compra || !vigente(c, hoje)
+                    || c.getValorMinimoCompra() == null || c.getCashbackValor() == null) continue;
+            if (total.compareTo(c.getValorMinimoCompra()) >= 0) {
+                soma = soma.add(c.getCashbackValor());
+            }
+        }
+        return soma;
+    }
+
+    private static boolean vigente(Campanha c, LocalDate hoje) {
+        return (c.getDataInicio() == null || !hoje.isBefore(c.getDataInicio()))
+                && (c.getDataFim() == null || !hoje.isAfter(c.getDataFim()));
+    }
+}
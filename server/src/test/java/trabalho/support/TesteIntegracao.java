@@ -0,0 +1,22 @@
+package trabalho.support;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Contexto completo da aplicação sobre um PostgreSQL embarcado (sem Docker e sem o banco remoto).
+ * Todas as classes com esta anotação compartilham o mesmo contexto.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureEmbeddedDatabase(provider = AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY)
+@Import({ContadorSql.class, Cenario.class})
+public @interface TesteIntegracao {
+}